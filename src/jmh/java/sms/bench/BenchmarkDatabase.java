@@ -0,0 +1,72 @@
+// BenchmarkDatabase.java
+// Temporary SQLite database with the production schema (including the change-tracking
+// column and triggers), filled with synthetic students.
+
+package sms.bench;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.sql.*;
+import sms.ChangeFeed;
+import sms.ConnectionFactory;
+
+final class BenchmarkDatabase implements AutoCloseable {
+    private final Path dir;
+    final Path file;
+    final Connection conn;
+
+    private BenchmarkDatabase(Path dir) throws SQLException {
+        this.dir = dir;
+        this.file = dir.resolve("bench.db");
+        this.conn = ConnectionFactory.fromSystemProperties("jdbc:sqlite:" + file).open();
+        try (Statement s = conn.createStatement()) {
+            s.execute("CREATE TABLE students (id INTEGER PRIMARY KEY, name TEXT NOT NULL, age INTEGER NOT NULL, grade TEXT NOT NULL, email TEXT NOT NULL)");
+            s.execute("CREATE INDEX idx_students_name ON students(name COLLATE NOCASE)");
+            s.execute("CREATE INDEX idx_students_grade ON students(grade, id)");
+            s.execute("CREATE INDEX idx_students_age ON students(age)");
+            s.execute("CREATE UNIQUE INDEX idx_students_email ON students(email)");
+        }
+        ChangeFeed.install(conn);
+    }
+
+    /** Creates an empty database in a fresh temporary directory. */
+    static BenchmarkDatabase create() throws IOException, SQLException {
+        return new BenchmarkDatabase(Files.createTempDirectory("sms-jmh"));
+    }
+
+    /** Creates a database holding students 1..rows. */
+    static BenchmarkDatabase create(int rows) throws IOException, SQLException {
+        BenchmarkDatabase db = create();
+        db.populate(1, rows);
+        return db;
+    }
+
+    void populate(int firstId, int count) throws SQLException {
+        conn.setAutoCommit(false);
+        // Versions are reserved up front, as the importer does, so the tracking triggers skip these rows
+        try (var p = conn.prepareStatement("INSERT INTO students (id,name,age,grade,email,version) VALUES (?,?,?,?,?,?)")) {
+            long version = ChangeFeed.reserve(conn, Math.max(1, count));
+            for (int id = firstId, end = firstId + count; id < end; id++) {
+                p.setInt(1, id); p.setString(2, name(id)); p.setInt(3, age(id)); p.setString(4, grade(id)); p.setString(5, email(id)); p.setLong(6, version++);
+                p.addBatch();
+                if (id % 10_000 == 0) { p.executeBatch(); conn.commit(); }
+            }
+            p.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    static String name(int id) { return "Student " + id; }
+    static int age(int id) { return 5 + id % 96; }
+    static String grade(int id) { return "G" + id % 12; }
+    static String email(int id) { return "student" + id + "@example.edu"; }
+
+    @Override
+    public void close() throws IOException, SQLException {
+        conn.close();
+        try (var files = Files.list(dir)) { files.forEach(f -> f.toFile().delete()); }
+        Files.deleteIfExists(dir);
+    }
+}
@@ -0,0 +1,23 @@
+// BenchmarkMain.java
+// Entry point of benchmarks.jar: standard JMH command line, but results are written
+// as JSON (jmh-results.json) unless -rf/-rff say otherwise.
+
+package sms.bench;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmd = new CommandLineOptions(args);
+        if (cmd.shouldHelp()) { cmd.showHelp(); return; }
+        if (cmd.shouldList()) { new Runner(cmd).list(); return; }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+        if (!cmd.getResultFormat().hasValue()) options.resultFormat(ResultFormatType.JSON);
+        if (!cmd.getResult().hasValue()) options.result("jmh-results.json");
+        new Runner(options.build()).run();
+    }
+}
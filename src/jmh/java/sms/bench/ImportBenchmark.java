@@ -0,0 +1,67 @@
+// ImportBenchmark.java
+// The CSV import path end to end (parsing, validation, batched inserts), loading a file
+// of fresh students into a table that already holds `rows`. Scores are rows per second.
+
+package sms.bench;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import sms.StudentImporter;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportBenchmark {
+    private static final int FILE_ROWS = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BenchmarkDatabase db;
+    private Path csv;
+    private PrintStream quiet;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.create(rows);
+        csv = Files.createTempFile("sms-jmh-import", ".csv");
+        quiet = new PrintStream(OutputStream.nullOutputStream());
+        nextId = rows + 1;
+    }
+
+    // Each invocation imports new ids, so no row is rejected as a duplicate
+    @Setup(Level.Invocation)
+    public void writeFile() throws Exception {
+        try (BufferedWriter w = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            w.write("ID,Name,Age,Grade,Email\n");
+            for (int i = 0; i < FILE_ROWS; i++) {
+                int id = nextId++;
+                w.write(id + "," + BenchmarkDatabase.name(id) + "," + BenchmarkDatabase.age(id) + "," + BenchmarkDatabase.grade(id) + "," + BenchmarkDatabase.email(id) + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(csv);
+        db.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(FILE_ROWS)
+    public long importCsv() throws Exception {
+        StudentImporter importer = new StudentImporter(db.conn, StudentImporter.DEFAULT_BATCH_SIZE);
+        importer.setLog(quiet);
+        importer.importFile(csv);
+        return importer.getImported();
+    }
+}
@@ -0,0 +1,71 @@
+// InsertBenchmark.java
+// Single autocommit inserts (the interactive add path) versus batched inserts
+// committed once per batch (the bulk import path), into a table that already holds
+// `rows` students. Scores are rows per second.
+
+package sms.bench;
+
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import sms.Student;
+import sms.StudentCache;
+import sms.StudentRepository;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsertBenchmark {
+    private static final int BATCH = 1000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BenchmarkDatabase db;
+    private StudentRepository repository;
+    private PreparedStatement batchInsert;
+    private int nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.create(rows);
+        repository = new StudentRepository(db.conn, new StudentCache(StudentCache.DEFAULT_CAPACITY));
+        batchInsert = db.conn.prepareStatement("INSERT INTO students (id,name,age,grade,email) VALUES (?,?,?,?,?)");
+        nextId = rows + 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        batchInsert.close();
+        repository.close();
+        db.close();
+    }
+
+    @Benchmark
+    public void singleInsert() throws SQLException {
+        int id = nextId++;
+        repository.add(new Student(id, BenchmarkDatabase.name(id), BenchmarkDatabase.age(id), BenchmarkDatabase.grade(id), BenchmarkDatabase.email(id)));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void batchedInsert() throws SQLException {
+        Connection conn = db.conn;
+        conn.setAutoCommit(false);
+        try {
+            for (int i = 0; i < BATCH; i++) {
+                int id = nextId++;
+                batchInsert.setInt(1, id); batchInsert.setString(2, BenchmarkDatabase.name(id)); batchInsert.setInt(3, BenchmarkDatabase.age(id));
+                batchInsert.setString(4, BenchmarkDatabase.grade(id)); batchInsert.setString(5, BenchmarkDatabase.email(id));
+                batchInsert.addBatch();
+            }
+            batchInsert.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+}
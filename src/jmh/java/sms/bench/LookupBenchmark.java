@@ -0,0 +1,53 @@
+// LookupBenchmark.java
+// Lookups by id through StudentRepository, with the LRU cache serving a hot working set
+// and with an effectively disabled cache (capacity 1, uniformly random ids).
+
+package sms.bench;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import sms.Student;
+import sms.StudentCache;
+import sms.StudentRepository;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LookupBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BenchmarkDatabase db;
+    private StudentRepository cached, uncached;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private int hotSet;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.create(rows);
+        hotSet = Math.min(rows, StudentCache.DEFAULT_CAPACITY);
+        cached = new StudentRepository(db.conn, new StudentCache(StudentCache.DEFAULT_CAPACITY));
+        uncached = new StudentRepository(db.conn, new StudentCache(1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        cached.close();
+        uncached.close();
+        db.close();
+    }
+
+    @Benchmark
+    public Student findByIdCached() throws Exception {
+        return cached.findById(1 + random.nextInt(hotSet));
+    }
+
+    @Benchmark
+    public Student findByIdUncached() throws Exception {
+        return uncached.findById(1 + random.nextInt(rows));
+    }
+}
@@ -0,0 +1,72 @@
+// ScanBenchmark.java
+// Full-table scans: a raw streamed SELECT, keyset paging through StudentPager,
+// and the CSV / gzip JSON Lines export engine writing to a temporary file.
+
+package sms.bench;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import sms.StudentExporter;
+import sms.StudentPager;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ScanBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BenchmarkDatabase db;
+    private StudentExporter exporter;
+    private Path output;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.create(rows);
+        exporter = new StudentExporter(db.conn);
+        exporter.setLog(new PrintStream(OutputStream.nullOutputStream()));
+        output = Files.createTempFile("sms-jmh-export", null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(output);
+        db.close();
+    }
+
+    @Benchmark
+    public void fullScan(Blackhole bh) throws Exception {
+        try (var s = db.conn.createStatement()) {
+            s.setFetchSize(StudentExporter.FETCH_SIZE);
+            try (var rs = s.executeQuery("SELECT id,name,age,grade,email FROM students")) {
+                while (rs.next()) { bh.consume(rs.getInt(1)); bh.consume(rs.getString(2)); bh.consume(rs.getInt(3)); bh.consume(rs.getString(4)); bh.consume(rs.getString(5)); }
+            }
+        }
+    }
+
+    @Benchmark
+    public int pagedScan() throws Exception {
+        int pages = 0;
+        try (var pager = new StudentPager(db.conn, 1000)) {
+            if (pager.first()) do pages++; while (pager.next());
+        }
+        return pages;
+    }
+
+    @Benchmark
+    public long exportCsv() throws Exception {
+        return exporter.export(output, StudentExporter.Format.CSV, false);
+    }
+
+    @Benchmark
+    public long exportJsonLinesGzip() throws Exception {
+        return exporter.export(output, StudentExporter.Format.JSONL, true);
+    }
+}
@@ -0,0 +1,84 @@
+// SnapshotBenchmark.java
+// The memory-mapped columnar snapshot against SQLite for the same work: uncached lookups
+// by random id, and a full scan that averages ages and counts one grade.
+
+package sms.bench;
+
+import java.nio.file.*;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import sms.Student;
+import sms.StudentCache;
+import sms.StudentExporter;
+import sms.StudentRepository;
+import sms.StudentSnapshot;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private BenchmarkDatabase db;
+    private StudentRepository repository;
+    private Path file;
+    private StudentSnapshot snapshot;
+    private final SplittableRandom random = new SplittableRandom(42);
+    private String grade;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        db = BenchmarkDatabase.create(rows);
+        repository = new StudentRepository(db.conn, new StudentCache(1));
+        file = Files.createTempFile("sms-jmh", ".snap");
+        StudentSnapshot.write(db.conn, file);
+        snapshot = StudentSnapshot.open(file);
+        grade = BenchmarkDatabase.grade(3);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        repository.close();
+        db.close();
+        snapshot = null;
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Student lookupSqlite() throws Exception {
+        return repository.findById(1 + random.nextInt(rows));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public Student lookupSnapshot() {
+        return snapshot.findById(1 + random.nextInt(rows));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double scanSqlite() throws Exception {
+        long sum = 0, count = 0, matches = 0;
+        try (var s = db.conn.createStatement()) {
+            s.setFetchSize(StudentExporter.FETCH_SIZE);
+            try (var rs = s.executeQuery("SELECT age, grade FROM students")) {
+                while (rs.next()) { sum += rs.getInt(1); count++; if (grade.equals(rs.getString(2))) matches++; }
+            }
+        }
+        return (double) sum / count + matches;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public double scanSnapshot() {
+        long sum = 0, matches = 0;
+        int code = snapshot.gradeCode(grade);
+        for (int r = 0, n = snapshot.size(); r < n; r++) { sum += snapshot.age(r); if (snapshot.gradeCode(r) == code) matches++; }
+        return (double) sum / snapshot.size() + matches;
+    }
+}
@@ -0,0 +1,119 @@
+// ChangeFeed.java
+// Change tracking for the students table and delta export since a stored watermark.
+// Every insert, real update and delete takes the next value of a database-wide counter
+// (change_seq): rows carry it in students.version and deletes leave a tombstone with it.
+// Triggers maintain this, so the menu, import, script, server and write-behind paths
+// are all covered. Bulk writers (import, write-behind flush) instead reserve a block of
+// versions once per batch and write them in the statement itself; the triggers skip
+// such rows, so a batch costs one counter update rather than three statements per row.
+// A consumer's watermark is the highest version it has received.
+// Delta export reads only rows above it through the version indexes, so it costs
+// O(changes), not O(table).
+
+package sms;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.*;
+
+public final class ChangeFeed {
+    public static final String DEFAULT_CONSUMER = "default";
+
+    private ChangeFeed() {}
+
+    // Bumps the counter and stamps the row (the nested UPDATE only touches version, so it does not re-fire)
+    private static final String STAMP = "UPDATE change_seq SET value = value + 1 WHERE id = 1; "
+            + "UPDATE students SET version = (SELECT value FROM change_seq WHERE id = 1) WHERE id = NEW.id; "
+            + "DELETE FROM student_tombstones WHERE id = NEW.id; ";
+
+    /** Creates the tracking tables, indexes and triggers; adds the version column to older databases. */
+    public static void install(Connection conn) throws SQLException {
+        try (Statement s = conn.createStatement()) {
+            boolean hasVersion = false;
+            try (ResultSet rs = s.executeQuery("PRAGMA table_info(students)")) {
+                while (rs.next()) hasVersion |= rs.getString("name").equalsIgnoreCase("version");
+            }
+            // Rows that predate tracking get version 0, so a first delta export includes them
+            if (!hasVersion) s.execute("ALTER TABLE students ADD COLUMN version INTEGER NOT NULL DEFAULT 0");
+            s.execute("CREATE INDEX IF NOT EXISTS idx_students_version ON students(version)");
+            s.execute("CREATE TABLE IF NOT EXISTS change_seq (id INTEGER PRIMARY KEY CHECK (id = 1), value INTEGER NOT NULL)");
+            s.execute("INSERT OR IGNORE INTO change_seq (id, value) VALUES (1, 0)");
+            s.execute("CREATE TABLE IF NOT EXISTS student_tombstones (id INTEGER PRIMARY KEY, version INTEGER NOT NULL)");
+            s.execute("CREATE INDEX IF NOT EXISTS idx_student_tombstones_version ON student_tombstones(version)");
+            s.execute("CREATE TABLE IF NOT EXISTS sync_state (name TEXT PRIMARY KEY, watermark INTEGER NOT NULL)");
+            // Recreated every time so databases created with older definitions pick up the current ones
+            s.execute("DROP TRIGGER IF EXISTS students_track_insert");
+            s.execute("DROP TRIGGER IF EXISTS students_track_insert_versioned");
+            s.execute("DROP TRIGGER IF EXISTS students_track_update");
+            s.execute("CREATE TRIGGER students_track_insert AFTER INSERT ON students WHEN NEW.version = 0 BEGIN " + STAMP + "END");
+            // A row written with a reserved version only has to clear a tombstone left by an earlier delete
+            s.execute("CREATE TRIGGER students_track_insert_versioned AFTER INSERT ON students WHEN NEW.version <> 0 "
+                    + "BEGIN DELETE FROM student_tombstones WHERE id = NEW.id; END");
+            s.execute("CREATE TRIGGER students_track_update AFTER UPDATE OF name, age, grade, email ON students "
+                    + "WHEN NEW.version = OLD.version AND (OLD.name IS NOT NEW.name OR OLD.age IS NOT NEW.age OR OLD.grade IS NOT NEW.grade OR OLD.email IS NOT NEW.email) "
+                    + "BEGIN " + STAMP + "END");
+            s.execute("CREATE TRIGGER IF NOT EXISTS students_track_delete AFTER DELETE ON students BEGIN "
+                    + "UPDATE change_seq SET value = value + 1 WHERE id = 1; "
+                    + "INSERT OR REPLACE INTO student_tombstones (id, version) VALUES (OLD.id, (SELECT value FROM change_seq WHERE id = 1)); END");
+        }
+    }
+
+    /** Version of the latest change. */
+    public static long currentVersion(Connection conn) throws SQLException {
+        try (Statement s = conn.createStatement(); ResultSet rs = s.executeQuery("SELECT value FROM change_seq WHERE id = 1")) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    /**
+     * Reserves count consecutive versions and returns the first. Call it inside the transaction
+     * that writes the rows, so the reservation commits (or rolls back) with them.
+     */
+    public static long reserve(Connection conn, int count) throws SQLException {
+        try (PreparedStatement p = conn.prepareStatement("UPDATE change_seq SET value = value + ? WHERE id = 1 RETURNING value")) {
+            p.setInt(1, count);
+            try (ResultSet rs = p.executeQuery()) {
+                if (!rs.next()) throw new SQLException("change_seq is missing; ChangeFeed.install() has not run");
+                return rs.getLong(1) - count + 1;
+            }
+        }
+    }
+
+    /** Highest version the consumer has exported, or -1 if it never has (its first delta is the whole table). */
+    public static long watermark(Connection conn, String consumer) throws SQLException {
+        try (PreparedStatement p = conn.prepareStatement("SELECT watermark FROM sync_state WHERE name = ?")) {
+            p.setString(1, consumer);
+            try (ResultSet rs = p.executeQuery()) { return rs.next() ? rs.getLong(1) : -1; }
+        }
+    }
+
+    /**
+     * Writes every change after the consumer's watermark to file, then advances the watermark
+     * and drops tombstones that every consumer has seen. Returns the number of changes written.
+     */
+    public static long exportDelta(Connection conn, Path file, StudentExporter.Format format, boolean gzip, String consumer) throws SQLException, IOException {
+        long after, upTo, changes;
+        boolean autoCommit = conn.getAutoCommit();
+        // One read transaction: every change up to upTo is visible, none above it is exported
+        conn.setAutoCommit(false);
+        try {
+            after = watermark(conn, consumer);
+            upTo = currentVersion(conn);
+            changes = new StudentExporter(conn).exportChanges(file, format, gzip, after, upTo);
+            conn.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        // The file is complete, so the watermark can move; a crash before this just repeats the delta
+        try (PreparedStatement p = conn.prepareStatement("INSERT INTO sync_state (name, watermark) VALUES (?, ?) ON CONFLICT(name) DO UPDATE SET watermark = excluded.watermark");
+             Statement s = conn.createStatement()) {
+            p.setString(1, consumer); p.setLong(2, upTo);
+            p.executeUpdate();
+            s.execute("DELETE FROM student_tombstones WHERE version <= (SELECT MIN(watermark) FROM sync_state)");
+        }
+        return changes;
+    }
+}
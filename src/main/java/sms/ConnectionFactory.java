@@ -0,0 +1,73 @@
+// ConnectionFactory.java
+// Opens SQLite connections and applies tuning pragmas to each one.
+// Defaults can be overridden with -Dsms.pragma.<name>=<value> (e.g. -Dsms.pragma.synchronous=FULL)
+// or disabled entirely with -Dsms.pragmas=off.
+
+package sms;
+
+import java.sql.*;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+public class ConnectionFactory {
+    public static final String DEFAULT_URL = "jdbc:sqlite:students.db";
+    private static final int SQLITE_CONSTRAINT = 19;
+    private static final Pattern PRAGMA_VALUE = Pattern.compile("[A-Za-z0-9_-]+");
+
+    private final String url;
+    private final Map<String, String> pragmas;
+
+    public ConnectionFactory(String url, Map<String, String> pragmas) {
+        for (Map.Entry<String, String> e : pragmas.entrySet())
+            if (!PRAGMA_VALUE.matcher(e.getKey()).matches() || !PRAGMA_VALUE.matcher(e.getValue()).matches())
+                throw new IllegalArgumentException("Invalid pragma: " + e.getKey() + "=" + e.getValue());
+        this.url = url;
+        this.pragmas = Collections.unmodifiableMap(new LinkedHashMap<>(pragmas));
+    }
+
+    /** WAL journal, relaxed sync, 64 MB page cache, 256 MB mmap, in-memory temp tables and a 5s busy wait for pooled connections. */
+    public static Map<String, String> defaultPragmas() {
+        Map<String, String> p = new LinkedHashMap<>();
+        p.put("journal_mode", "WAL");
+        p.put("synchronous", "NORMAL");
+        p.put("cache_size", "-65536"); // negative = KiB
+        p.put("mmap_size", "268435456");
+        p.put("temp_store", "MEMORY");
+        p.put("busy_timeout", "5000");
+        return p;
+    }
+
+    /** Factory for the given URL using the default pragmas adjusted by system properties. */
+    public static ConnectionFactory fromSystemProperties(String url) {
+        if ("off".equalsIgnoreCase(System.getProperty("sms.pragmas"))) return untuned(url);
+        Map<String, String> p = defaultPragmas();
+        for (String name : System.getProperties().stringPropertyNames())
+            if (name.startsWith("sms.pragma.")) p.put(name.substring("sms.pragma.".length()), System.getProperty(name));
+        return new ConnectionFactory(url, p);
+    }
+
+    /** Factory that leaves SQLite's defaults (rollback journal, full sync) untouched. */
+    public static ConnectionFactory untuned(String url) { return new ConnectionFactory(url, Map.of()); }
+
+    public String getUrl() { return url; }
+    public Map<String, String> getPragmas() { return pragmas; }
+
+    public Connection open() throws SQLException {
+        Connection conn = DriverManager.getConnection(url);
+        try (Statement s = conn.createStatement()) {
+            for (Map.Entry<String, String> e : pragmas.entrySet()) s.execute("PRAGMA " + e.getKey() + "=" + e.getValue());
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        return conn;
+    }
+
+    /**
+     * Whether the database rejected a write outright (duplicate id or email, NOT NULL, CHECK). The driver reports
+     * extended result codes such as 2067 (SQLITE_CONSTRAINT_UNIQUE), so only the primary code in the low byte is compared.
+     */
+    public static boolean isConstraintViolation(SQLException e) { return (e.getErrorCode() & 0xFF) == SQLITE_CONSTRAINT; }
+}
@@ -0,0 +1,53 @@
+// CsvReader.java
+// Streaming reader for the CSV layout used by export, import and script files:
+// quoted fields may contain commas, quotes ("") and newlines; blank lines are skipped.
+
+package sms;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+final class CsvReader {
+    private final BufferedReader in;
+    private final StringBuilder field = new StringBuilder();
+    private final List<String> fields = new ArrayList<>(6);
+    private long line = 1, recordLine;
+
+    CsvReader(BufferedReader in) { this.in = in; }
+
+    /** Fields of the record last read by next(); the list is reused. */
+    List<String> fields() { return fields; }
+
+    /** Line number on which the current record starts. */
+    long recordLine() { return recordLine; }
+
+    /** Reads the next record into fields(); false at end of input. */
+    boolean next() throws IOException {
+        int c;
+        while ((c = in.read()) == '\n' || c == '\r') if (c == '\n') line++;
+        if (c == -1) return false;
+        recordLine = line;
+        fields.clear();
+        field.setLength(0);
+        boolean quoted = false;
+        for (; c != -1; c = in.read()) {
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() == '"') field.append('"');
+                    else { in.reset(); quoted = false; }
+                } else {
+                    if (c == '\n') line++;
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) quoted = true;
+            else if (c == ',') { fields.add(field.toString()); field.setLength(0); }
+            else if (c == '\n') { line++; break; }
+            else if (c != '\r') field.append((char) c);
+        }
+        fields.add(field.toString());
+        return true;
+    }
+}
@@ -0,0 +1,278 @@
+// FuzzyIndex.java
+// Typo-tolerant name/email search over an in-memory trigram index.
+// Text is lower-cased, non-alphanumerics become spaces and it is padded ("  ann lee ")
+// before being cut into trigrams; only the local part of an email is indexed, since most
+// students share a handful of domains. Each trigram maps to a posting list of primitive
+// int document slots, one slot per student. A query counts the trigrams it shares with
+// each slot and ranks by Jaccard similarity (best of name and email), keeping the top k
+// in a small heap. An update gives the student a fresh slot and retires the old one;
+// queries skip retired slots and they are squeezed out once they reach a quarter of the index.
+
+package sms;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FuzzyIndex {
+    public static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_CHARS = 64; // longer text is indexed by its first 64 characters
+    private static final double MIN_SCORE = 0.2;
+
+    /** A matching student id and its similarity in (0, 1]. */
+    public record Match(int id, double score) { }
+
+    // Per slot: student id (0 once retired) and distinct trigram counts of name and email
+    private int[] slotIds = new int[1024];
+    private byte[] nameGrams = new byte[1024], emailGrams = new byte[1024];
+    private int slots, live;
+    // Live slot by student id
+    private final IntSlotTable table = new IntSlotTable(1024);
+    private final Grams names = new Grams(), emails = new Grams();
+    // Query scratch: shared trigram counts per slot and the slots that have any
+    private byte[] nameHits = new byte[0], emailHits = new byte[0];
+    private int[] touched = new int[0];
+    private final long[] grams = new long[MAX_CHARS + 3];
+
+    /** Indexes every student's name and email. */
+    public static FuzzyIndex build(Connection conn) throws SQLException {
+        FuzzyIndex index = new FuzzyIndex();
+        try (Statement st = conn.createStatement()) {
+            st.setFetchSize(StudentExporter.FETCH_SIZE);
+            try (ResultSet rs = st.executeQuery("SELECT id,name,email FROM students")) {
+                while (rs.next()) index.put(rs.getInt(1), rs.getString(2), rs.getString(3));
+            }
+        }
+        index.trim();
+        return index;
+    }
+
+    public synchronized int size() { return live; }
+
+    /** Adds or replaces the student's entry. */
+    public void put(Student s) { put(s.getId(), s.getName(), s.getEmail()); }
+
+    public synchronized void put(int id, String name, String email) {
+        if (id <= 0) return;
+        remove(id);
+        if (slots == slotIds.length) {
+            int n = slots * 2;
+            slotIds = Arrays.copyOf(slotIds, n); nameGrams = Arrays.copyOf(nameGrams, n); emailGrams = Arrays.copyOf(emailGrams, n);
+        }
+        int slot = slots++;
+        slotIds[slot] = id;
+        int n = trigrams(name, false, grams);
+        for (int i = 0; i < n; i++) names.add(grams[i], slot);
+        nameGrams[slot] = (byte) n;
+        n = trigrams(email, true, grams);
+        for (int i = 0; i < n; i++) emails.add(grams[i], slot);
+        emailGrams[slot] = (byte) n;
+        table.put(id, slot);
+        live++;
+    }
+
+    /** Drops the student's entry, if any. */
+    public synchronized void remove(int id) {
+        int slot = table.remove(id);
+        if (slot < 0) return;
+        slotIds[slot] = 0;
+        live--;
+        int retired = slots - live;
+        if (retired > 1024 && retired * 4 > slots) compact();
+    }
+
+    /** The best matches for the query by name or email, best first; at most limit of them. */
+    public synchronized List<Match> search(String query, int limit) {
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive.");
+        int q = trigrams(query, true, grams);
+        if (q == 0) return List.of();
+        if (nameHits.length < slots) { nameHits = new byte[slotIds.length]; emailHits = new byte[slotIds.length]; touched = new int[slotIds.length]; }
+        int count = collect(names, nameHits, q, 0);
+        count = collect(emails, emailHits, q, count);
+        // Min-heap of the best limit matches so far (worst at the root)
+        int[] heapIds = new int[limit];
+        double[] heapScores = new double[limit];
+        int heapSize = 0;
+        for (int i = 0; i < count; i++) {
+            int slot = touched[i];
+            double score = Math.max(jaccard(nameHits[slot], q, nameGrams[slot]), jaccard(emailHits[slot], q, emailGrams[slot]));
+            nameHits[slot] = 0; emailHits[slot] = 0;
+            if (score < MIN_SCORE) continue;
+            int id = slotIds[slot];
+            if (heapSize < limit) { heapIds[heapSize] = id; heapScores[heapSize] = score; siftUp(heapIds, heapScores, heapSize++); }
+            else if (worse(heapScores[0], heapIds[0], score, id)) { heapIds[0] = id; heapScores[0] = score; siftDown(heapIds, heapScores, heapSize); }
+        }
+        List<Match> matches = new ArrayList<>(heapSize);
+        for (int i = 0; i < heapSize; i++) matches.add(new Match(heapIds[i], heapScores[i]));
+        matches.sort((a, b) -> a.score() != b.score() ? Double.compare(b.score(), a.score()) : Integer.compare(a.id(), b.id()));
+        return matches;
+    }
+
+    // Adds 1 per shared trigram to hits[slot] for every live slot in the query's posting lists
+    private int collect(Grams field, byte[] hits, int q, int count) {
+        for (int i = 0; i < q; i++) {
+            int b = field.bucketOf(grams[i]);
+            if (b < 0) continue;
+            int[] list = field.lists[b];
+            for (int j = 0, n = field.sizes[b]; j < n; j++) {
+                int slot = list[j];
+                if (slotIds[slot] == 0) continue;
+                if (nameHits[slot] == 0 && emailHits[slot] == 0) touched[count++] = slot;
+                hits[slot]++;
+            }
+        }
+        return count;
+    }
+
+    private static double jaccard(int shared, int q, int doc) { return shared == 0 ? 0 : (double) shared / (q + doc - shared); }
+
+    // a (score, id) ranks below b: lower score, or the same score and a larger id
+    private static boolean worse(double aScore, int aId, double bScore, int bId) { return aScore < bScore || (aScore == bScore && aId > bId); }
+
+    private static void siftUp(int[] ids, double[] scores, int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!worse(scores[i], ids[i], scores[parent], ids[parent])) return;
+            swap(ids, scores, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] ids, double[] scores, int size) {
+        for (int i = 0; ; ) {
+            int l = 2 * i + 1, r = l + 1, min = i;
+            if (l < size && worse(scores[l], ids[l], scores[min], ids[min])) min = l;
+            if (r < size && worse(scores[r], ids[r], scores[min], ids[min])) min = r;
+            if (min == i) return;
+            swap(ids, scores, i, min);
+            i = min;
+        }
+    }
+
+    private static void swap(int[] ids, double[] scores, int i, int j) {
+        int id = ids[i]; ids[i] = ids[j]; ids[j] = id;
+        double s = scores[i]; scores[i] = scores[j]; scores[j] = s;
+    }
+
+    /**
+     * Writes the distinct trigrams of text into out (sorted) and returns how many there are.
+     * For emails, and for queries, only the part before '@' is used.
+     */
+    static int trigrams(String text, boolean stopAtAt, long[] out) {
+        if (text == null) return 0;
+        char[] buf = new char[MAX_CHARS + 3];
+        int n = 0;
+        buf[n++] = ' '; buf[n++] = ' ';
+        for (int i = 0, len = text.length(); i < len && n < MAX_CHARS + 2; i++) {
+            char c = text.charAt(i);
+            if (c == '@' && stopAtAt) break;
+            c = Character.isLetterOrDigit(c) ? Character.toLowerCase(c) : ' ';
+            if (c == ' ' && buf[n - 1] == ' ') continue;
+            buf[n++] = c;
+        }
+        if (n == 2) return 0;
+        if (buf[n - 1] != ' ') buf[n++] = ' ';
+        int m = 0;
+        for (int i = 0; i + 2 < n; i++) out[m++] = (long) buf[i] << 32 | (long) buf[i + 1] << 16 | buf[i + 2];
+        Arrays.sort(out, 0, m);
+        int distinct = 0;
+        for (int i = 0; i < m; i++) if (distinct == 0 || out[distinct - 1] != out[i]) out[distinct++] = out[i];
+        return distinct;
+    }
+
+    // Renumbers live slots densely and rewrites every posting list without the retired ones
+    private void compact() {
+        int[] remap = new int[slots];
+        int next = 0;
+        for (int s = 0; s < slots; s++) {
+            if (slotIds[s] == 0) { remap[s] = -1; continue; }
+            remap[s] = next;
+            slotIds[next] = slotIds[s]; nameGrams[next] = nameGrams[s]; emailGrams[next] = emailGrams[s];
+            next++;
+        }
+        Arrays.fill(slotIds, next, slots, 0);
+        slots = next;
+        names.compact(remap);
+        emails.compact(remap);
+        names.trim();
+        emails.trim();
+        table.clear();
+        for (int s = 0; s < slots; s++) table.put(slotIds[s], s);
+    }
+
+    private void trim() {
+        slotIds = Arrays.copyOf(slotIds, Math.max(slots, 16)); nameGrams = Arrays.copyOf(nameGrams, slotIds.length); emailGrams = Arrays.copyOf(emailGrams, slotIds.length);
+        names.trim();
+        emails.trim();
+    }
+
+    /** Approximate heap footprint of the index, in bytes. */
+    public synchronized long memoryBytes() {
+        return 6L * slotIds.length + 8L * table.buckets() + 2L * nameHits.length + 4L * touched.length + names.memoryBytes() + emails.memoryBytes();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("Fuzzy index: %d students, %d name and %d email trigrams, ~%.1f MB", live, names.count, emails.count, memoryBytes() / (1024.0 * 1024.0));
+    }
+
+    // Trigram -> posting list of slots (ascending), in an open-addressing table keyed by the packed trigram
+    private static final class Grams {
+        long[] keys = new long[1 << 12];
+        int[][] lists = new int[keys.length][];
+        int[] sizes = new int[keys.length];
+        int count, mask = keys.length - 1;
+
+        private static int hash(long key) { long h = key * 0x9E3779B97F4A7C15L; return (int) (h ^ (h >>> 32)); }
+
+        int bucketOf(long key) {
+            for (int h = hash(key) & mask; keys[h] != 0; h = (h + 1) & mask) if (keys[h] == key) return h;
+            return -1;
+        }
+
+        void add(long key, int slot) {
+            int h = hash(key) & mask;
+            while (keys[h] != 0 && keys[h] != key) h = (h + 1) & mask;
+            if (keys[h] == 0) {
+                keys[h] = key; lists[h] = new int[4];
+                if (++count * 2 > keys.length) { grow(); h = bucketOf(key); }
+            }
+            int[] list = lists[h];
+            if (sizes[h] == list.length) lists[h] = list = Arrays.copyOf(list, list.length * 2);
+            list[sizes[h]++] = slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys; int[][] oldLists = lists; int[] oldSizes = sizes;
+            keys = new long[oldKeys.length * 2]; lists = new int[keys.length][]; sizes = new int[keys.length];
+            mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] == 0) continue;
+                int h = hash(oldKeys[i]) & mask;
+                while (keys[h] != 0) h = (h + 1) & mask;
+                keys[h] = oldKeys[i]; lists[h] = oldLists[i]; sizes[h] = oldSizes[i];
+            }
+        }
+
+        void compact(int[] remap) {
+            for (int b = 0; b < keys.length; b++) {
+                if (keys[b] == 0) continue;
+                int[] list = lists[b];
+                int n = 0;
+                for (int j = 0; j < sizes[b]; j++) { int s = remap[list[j]]; if (s >= 0) list[n++] = s; }
+                sizes[b] = n; // emptied lists stay as (harmless) keys
+            }
+        }
+
+        void trim() {
+            for (int b = 0; b < keys.length; b++) if (keys[b] != 0 && lists[b].length > sizes[b]) lists[b] = Arrays.copyOf(lists[b], Math.max(sizes[b], 1));
+        }
+
+        long memoryBytes() {
+            long bytes = 16L * keys.length;
+            for (int b = 0; b < keys.length; b++) if (lists[b] != null) bytes += 16 + 4L * lists[b].length;
+            return bytes;
+        }
+    }
+}
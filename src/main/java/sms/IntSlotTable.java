@@ -0,0 +1,87 @@
+// IntSlotTable.java
+// Open-addressing hash table from a primitive int key to an int slot (an index into the
+// owner's own arrays), with linear probing and backward-shift deletion so no tombstones
+// build up. It keeps itself at most half full. Shared by StudentCache and FuzzyIndex;
+// not thread-safe, the owners synchronize.
+
+package sms;
+
+import java.util.Arrays;
+
+final class IntSlotTable {
+    static final int NONE = -1;
+
+    private int[] keys;
+    // Slot + 1 per bucket (0 = empty bucket)
+    private int[] slots;
+    private int mask, size;
+
+    /** Table sized so that maxEntries keys fit without growing. */
+    IntSlotTable(int maxEntries) {
+        int buckets = Integer.highestOneBit(Math.max(maxEntries, 1) * 2 - 1) << 1; // at most 50% full
+        keys = new int[buckets];
+        slots = new int[buckets];
+        mask = buckets - 1;
+    }
+
+    static int hash(int key) { int h = key * 0x9E3779B9; return h ^ (h >>> 16); }
+
+    int size() { return size; }
+    int buckets() { return slots.length; }
+
+    /** The slot stored for key, or NONE. */
+    int get(int key) {
+        int b = bucketOf(key);
+        return b == NONE ? NONE : slots[b] - 1;
+    }
+
+    /** Stores slot for key, replacing any slot it had. */
+    void put(int key, int slot) {
+        int b = bucketOf(key);
+        if (b != NONE) { slots[b] = slot + 1; return; }
+        if ((size + 1) * 2 > slots.length) resize(slots.length * 2);
+        insert(key, slot);
+        size++;
+    }
+
+    /** Drops key and returns the slot it had, or NONE. */
+    int remove(int key) {
+        int i = bucketOf(key);
+        if (i == NONE) return NONE;
+        int slot = slots[i] - 1;
+        // Backward-shift deletion keeps probe sequences intact without tombstones
+        for (int j = (i + 1) & mask; slots[j] != 0; j = (j + 1) & mask) {
+            int k = hash(keys[j]) & mask;
+            boolean stays = i <= j ? (i < k && k <= j) : (i < k || k <= j);
+            if (!stays) { keys[i] = keys[j]; slots[i] = slots[j]; i = j; }
+        }
+        slots[i] = 0;
+        size--;
+        return slot;
+    }
+
+    void clear() {
+        Arrays.fill(slots, 0);
+        size = 0;
+    }
+
+    private int bucketOf(int key) {
+        for (int h = hash(key) & mask; slots[h] != 0; h = (h + 1) & mask) if (keys[h] == key) return h;
+        return NONE;
+    }
+
+    private void insert(int key, int slot) {
+        int h = hash(key) & mask;
+        while (slots[h] != 0) h = (h + 1) & mask;
+        keys[h] = key;
+        slots[h] = slot + 1;
+    }
+
+    private void resize(int buckets) {
+        int[] oldKeys = keys, oldSlots = slots;
+        keys = new int[buckets];
+        slots = new int[buckets];
+        mask = buckets - 1;
+        for (int i = 0; i < oldSlots.length; i++) if (oldSlots[i] != 0) insert(oldKeys[i], oldSlots[i] - 1);
+    }
+}
@@ -0,0 +1,114 @@
+// Json.java
+// Minimal JSON support for the HTTP API: encoding students and parsing flat request objects.
+
+package sms;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+final class Json {
+    private Json() {}
+
+    static StringBuilder student(StringBuilder sb, Student s) {
+        sb.append("{\"id\":").append(s.getId()).append(",\"name\":");
+        string(sb, s.getName()).append(",\"age\":").append(s.getAge()).append(",\"grade\":");
+        string(sb, s.getGrade()).append(",\"email\":");
+        return string(sb, s.getEmail()).append('}');
+    }
+
+    static StringBuilder string(StringBuilder sb, String s) {
+        if (s == null) return sb.append("null");
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> { if (c < 0x20) sb.append(String.format("\\u%04x", (int) c)); else sb.append(c); }
+            }
+        }
+        return sb.append('"');
+    }
+
+    static String error(String message) { return string(new StringBuilder("{\"error\":"), message).append('}').toString(); }
+
+    /** Parses a flat object such as {"name":"Ann","age":20}; values are returned as text (null for JSON null). */
+    static Map<String, String> parseObject(String text) {
+        Parser p = new Parser(text);
+        Map<String, String> fields = new LinkedHashMap<>();
+        p.skipSpace();
+        p.expect('{');
+        p.skipSpace();
+        if (p.peek() == '}') { p.pos++; return p.end(fields); }
+        while (true) {
+            p.skipSpace();
+            String key = p.string();
+            p.skipSpace();
+            p.expect(':');
+            p.skipSpace();
+            fields.put(key, p.value());
+            p.skipSpace();
+            if (p.peek() == ',') { p.pos++; continue; }
+            p.expect('}');
+            return p.end(fields);
+        }
+    }
+
+    private static final class Parser {
+        final String s;
+        int pos;
+        Parser(String s) { this.s = s; }
+
+        char peek() { if (pos >= s.length()) throw error("unexpected end of input"); return s.charAt(pos); }
+        void expect(char c) { if (peek() != c) throw error("expected '" + c + "'"); pos++; }
+        void skipSpace() { while (pos < s.length() && Character.isWhitespace(s.charAt(pos))) pos++; }
+        IllegalArgumentException error(String message) { return new IllegalArgumentException("Invalid JSON at offset " + pos + ": " + message); }
+
+        <T> T end(T result) {
+            skipSpace();
+            if (pos != s.length()) throw error("trailing characters");
+            return result;
+        }
+
+        String value() {
+            char c = peek();
+            if (c == '"') return string();
+            if (s.startsWith("null", pos)) { pos += 4; return null; }
+            int start = pos;
+            while (pos < s.length() && "+-.0123456789eEtrufals".indexOf(s.charAt(pos)) >= 0) pos++;
+            if (start == pos) throw error("expected a string, number, boolean or null");
+            return s.substring(start, pos);
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (true) {
+                char c = peek();
+                pos++;
+                if (c == '"') return sb.toString();
+                if (c != '\\') { sb.append(c); continue; }
+                char e = peek();
+                pos++;
+                switch (e) {
+                    case '"', '\\', '/' -> sb.append(e);
+                    case 'b' -> sb.append('\b');
+                    case 'f' -> sb.append('\f');
+                    case 'n' -> sb.append('\n');
+                    case 'r' -> sb.append('\r');
+                    case 't' -> sb.append('\t');
+                    case 'u' -> {
+                        if (pos + 4 > s.length()) throw error("truncated \\u escape");
+                        try { sb.append((char) Integer.parseInt(s.substring(pos, pos + 4), 16)); }
+                        catch (NumberFormatException ex) { throw error("invalid \\u escape"); }
+                        pos += 4;
+                    }
+                    default -> throw error("invalid escape '\\" + e + "'");
+                }
+            }
+        }
+    }
+}
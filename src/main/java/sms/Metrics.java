@@ -0,0 +1,89 @@
+// Metrics.java
+// Per-operation call counts, error counts and latency histograms.
+// Recording is allocation-free: counters are LongAdders and latencies go into a
+// fixed log-linear histogram (8 sub-buckets per power of two, ~12% resolution).
+
+package sms;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+public enum Metrics {
+    ADD("addStudent"),
+    SEARCH_BY_ID("searchStudentById"),
+    SEARCH("searchStudents"),
+    UPDATE("updateStudent"),
+    DELETE("deleteStudentById"),
+    VIEW("viewAllStudents"),
+    EXPORT("exportStudents"),
+    DELTA_EXPORT("exportChanges"),
+    IMPORT("importFromCSV"),
+    REPORT("showReport");
+
+    private static final int SUB_BITS = 3, SUB_BUCKETS = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+
+    private final String label;
+    private final LongAdder calls = new LongAdder(), errors = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    Metrics(String label) { this.label = label; }
+
+    public String getLabel() { return label; }
+
+    /** Records one call that started at startNanos (System.nanoTime()). */
+    public void record(long startNanos, boolean ok) {
+        long nanos = Math.max(0, System.nanoTime() - startNanos);
+        calls.increment();
+        if (!ok) errors.increment();
+        histogram.incrementAndGet(bucket(nanos));
+        long max;
+        while (nanos > (max = maxNanos.get()) && !maxNanos.compareAndSet(max, nanos)) { }
+    }
+
+    public long calls() { return calls.sum(); }
+    public long errors() { return errors.sum(); }
+    public long maxNanos() { return maxNanos.get(); }
+
+    /** Latency (upper bound of its bucket) below which the given fraction of calls fall, e.g. 0.99. */
+    public long percentileNanos(double fraction) {
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) total += histogram.get(i);
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(fraction * total), seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += histogram.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), maxNanos.get());
+        }
+        return maxNanos.get();
+    }
+
+    // Values below 8 get exact buckets; above that, the top 3 bits after the leading one pick the sub-bucket
+    static int bucket(long v) {
+        if (v < SUB_BUCKETS) return (int) v;
+        int exp = 63 - Long.numberOfLeadingZeros(v);
+        return (exp - SUB_BITS + 1) * SUB_BUCKETS + (int) ((v >>> (exp - SUB_BITS)) & (SUB_BUCKETS - 1));
+    }
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        int exp = bucket / SUB_BUCKETS + SUB_BITS - 1, sub = bucket % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + sub + 1) << (exp - SUB_BITS)) - 1;
+    }
+
+    /** Table of every operation that has been called at least once. */
+    public static String report() {
+        StringBuilder sb = new StringBuilder(String.format("%-18s %8s %7s %10s %10s %10s %10s%n", "operation", "calls", "errors", "p50 (ms)", "p95 (ms)", "p99 (ms)", "max (ms)"));
+        boolean any = false;
+        for (Metrics m : values()) {
+            long calls = m.calls();
+            if (calls == 0) continue;
+            any = true;
+            sb.append(String.format("%-18s %8d %7d %10.3f %10.3f %10.3f %10.3f%n", m.label, calls, m.errors(),
+                    m.percentileNanos(0.50) / 1e6, m.percentileNanos(0.95) / 1e6, m.percentileNanos(0.99) / 1e6, m.maxNanos() / 1e6));
+        }
+        if (!any) sb.append("(no operations recorded yet)").append(System.lineSeparator());
+        return sb.toString();
+    }
+}
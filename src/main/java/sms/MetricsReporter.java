@@ -0,0 +1,56 @@
+// MetricsReporter.java
+// Appends a timestamped Metrics.report() snapshot to a file at a fixed interval and once more on stop.
+// Configure with -Dsms.metrics.file (default metrics.log) and -Dsms.metrics.interval in seconds
+// (default 60, 0 disables the periodic dump).
+
+package sms;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class MetricsReporter implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(MetricsReporter.class);
+
+    private final Path file;
+    private final ScheduledExecutorService scheduler;
+
+    public MetricsReporter(Path file, long intervalSeconds) {
+        this.file = file;
+        if (intervalSeconds <= 0) { scheduler = null; return; }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "metrics-reporter");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::dump, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    public static MetricsReporter fromSystemProperties() {
+        return new MetricsReporter(Paths.get(System.getProperty("sms.metrics.file", "metrics.log")), Long.getLong("sms.metrics.interval", 60));
+    }
+
+    public void dump() {
+        boolean any = false;
+        for (Metrics m : Metrics.values()) any |= m.calls() > 0;
+        if (!any) return;
+        String snapshot = "=== " + LocalDateTime.now().withNano(0) + " ===" + System.lineSeparator() + Metrics.report();
+        try {
+            Files.writeString(file, snapshot, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.warn("Could not write metrics to {}", file, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (scheduler != null) scheduler.shutdownNow();
+        dump();
+    }
+}
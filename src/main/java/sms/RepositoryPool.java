@@ -0,0 +1,100 @@
+// RepositoryPool.java
+// Small bounded pool of StudentRepository instances, each on its own connection:
+// one writer (writes are serialized) and several readers, which under WAL can
+// run alongside the writer. All repositories share one StudentCache. With a WriteBehindQueue
+// attached, the writer queues its writes and every repository sees them in findById.
+
+package sms;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class RepositoryPool implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(RepositoryPool.class);
+    public static final int DEFAULT_READERS = 4;
+    private static final long ACQUIRE_TIMEOUT_MS = 10_000;
+
+    /** Work to run with a pooled repository. */
+    @FunctionalInterface
+    public interface Task<T> { T run(StudentRepository repository) throws SQLException; }
+
+    private final StudentRepository writer;
+    private final ReentrantLock writeLock = new ReentrantLock(true);
+    private final BlockingQueue<StudentRepository> readers;
+    private final List<Connection> connections = new ArrayList<>();
+    private final List<StudentRepository> all = new ArrayList<>();
+    private WriteBehindQueue writeBehind;
+
+    public RepositoryPool(ConnectionFactory factory, int readerCount, StudentCache cache) throws SQLException {
+        if (readerCount <= 0) throw new IllegalArgumentException("Reader count must be positive.");
+        readers = new ArrayBlockingQueue<>(readerCount);
+        try {
+            writer = new StudentRepository(open(factory), cache);
+            all.add(writer);
+            for (int i = 0; i < readerCount; i++) {
+                Connection c = open(factory);
+                try (Statement st = c.createStatement()) { st.execute("PRAGMA query_only=ON"); }
+                StudentRepository r = new StudentRepository(c, cache);
+                readers.add(r);
+                all.add(r);
+            }
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    private Connection open(ConnectionFactory factory) throws SQLException {
+        Connection c = factory.open();
+        connections.add(c);
+        return c;
+    }
+
+    /** Routes writes through the given queue, which the pool then owns and closes (null for direct writes). Call before use. */
+    public void setWriteBehind(WriteBehindQueue writeBehind) {
+        this.writeBehind = writeBehind;
+        for (StudentRepository r : all) r.setWriteBehind(writeBehind);
+    }
+
+    public WriteBehindQueue getWriteBehind() { return writeBehind; }
+
+    /** Applies queued writes, so that scans on a reader connection see them. */
+    public void flush() throws SQLException { writer.flush(); }
+
+    /** Runs a read-only task on a reader connection, waiting for one to become free. */
+    public <T> T read(Task<T> task) throws SQLException {
+        StudentRepository r;
+        try { r = readers.poll(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS); }
+        catch (InterruptedException e) { Thread.currentThread().interrupt(); throw new SQLException("Interrupted while waiting for a reader connection", e); }
+        if (r == null) throw new SQLTimeoutException("No reader connection available after " + ACQUIRE_TIMEOUT_MS + " ms");
+        try { return task.run(r); }
+        finally { readers.add(r); }
+    }
+
+    /** Runs a task on the single writer connection; writes are applied one at a time. */
+    public <T> T write(Task<T> task) throws SQLException {
+        try {
+            if (!writeLock.tryLock(ACQUIRE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) throw new SQLTimeoutException("Writer connection busy for more than " + ACQUIRE_TIMEOUT_MS + " ms");
+        } catch (InterruptedException e) { Thread.currentThread().interrupt(); throw new SQLException("Interrupted while waiting for the writer connection", e); }
+        try { return task.run(writer); }
+        finally { writeLock.unlock(); }
+    }
+
+    @Override
+    public void close() {
+        if (writeBehind != null) {
+            try { writeBehind.close(); }
+            catch (Exception e) { log.error("Final write-behind flush failed; changes remain in the journal", e); }
+        }
+        if (writer != null) writer.close();
+        for (StudentRepository r : readers) r.close();
+        for (Connection c : connections) { try { c.close(); } catch (SQLException ignored) {} }
+    }
+}
@@ -0,0 +1,33 @@
+// StatementCache.java
+// Prepares each SQL string once per connection and hands back the same PreparedStatement afterwards.
+// Like the connection it wraps, an instance must not be shared between threads.
+
+package sms;
+
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+
+public class StatementCache implements AutoCloseable {
+    private final Connection conn;
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    public StatementCache(Connection conn) { this.conn = conn; }
+
+    public Connection getConnection() { return conn; }
+
+    public PreparedStatement get(String sql) throws SQLException {
+        PreparedStatement p = statements.get(sql);
+        if (p == null || p.isClosed()) {
+            p = conn.prepareStatement(sql);
+            statements.put(sql, p);
+        }
+        return p;
+    }
+
+    @Override
+    public void close() {
+        for (PreparedStatement p : statements.values()) { try { p.close(); } catch (SQLException ignored) {} }
+        statements.clear();
+    }
+}
@@ -0,0 +1,68 @@
+// StorageBenchmark.java
+// Before/after comparison of insert and lookup latency:
+//   baseline - SQLite default pragmas, a fresh PreparedStatement per operation (the original code path)
+//   tuned    - ConnectionFactory pragmas, statements prepared once through StudentRepository
+// Each run uses its own temporary database file. Lookups bypass the student cache (capacity 1,
+// random ids) so only statement and connection costs are compared.
+
+package sms;
+
+import java.nio.file.*;
+import java.sql.*;
+import java.util.Random;
+
+public class StorageBenchmark {
+    public static final int DEFAULT_ROWS = 2000;
+
+    public static void run(int rows) throws Exception {
+        int lookups = rows * 5;
+        System.out.printf("Benchmark: %d autocommit inserts and %d lookups by id per configuration%n", rows, lookups);
+        Path dir = Files.createTempDirectory("sms-bench");
+        Result before, after;
+        try {
+            before = measure(ConnectionFactory.untuned("jdbc:sqlite:" + dir.resolve("baseline.db")), false, rows, lookups);
+            after = measure(ConnectionFactory.fromSystemProperties("jdbc:sqlite:" + dir.resolve("tuned.db")), true, rows, lookups);
+        } finally {
+            try (var files = Files.list(dir)) { files.forEach(f -> f.toFile().delete()); }
+            Files.deleteIfExists(dir);
+        }
+        System.out.printf("%-10s %16s %16s%n", "", "insert (us/op)", "lookup (us/op)");
+        System.out.printf("%-10s %16.1f %16.1f%n", "baseline", before.insertMicros, before.lookupMicros);
+        System.out.printf("%-10s %16.1f %16.1f%n", "tuned", after.insertMicros, after.lookupMicros);
+        System.out.printf("%-10s %15.1fx %15.1fx%n", "speedup", before.insertMicros / after.insertMicros, before.lookupMicros / after.lookupMicros);
+    }
+
+    private record Result(double insertMicros, double lookupMicros) {}
+
+    private static Result measure(ConnectionFactory factory, boolean reuse, int rows, int lookups) throws SQLException {
+        Random random = new Random(42);
+        try (Connection conn = factory.open(); var repo = new StudentRepository(conn, new StudentCache(1))) {
+            try (Statement s = conn.createStatement()) {
+                s.execute("CREATE TABLE students (id INTEGER PRIMARY KEY, name TEXT NOT NULL, age INTEGER NOT NULL, grade TEXT NOT NULL, email TEXT NOT NULL)");
+            }
+            long start = System.nanoTime();
+            for (int id = 1; id <= rows; id++) {
+                Student st = new Student(id, "Student " + id, 5 + id % 96, "G" + id % 12, "student" + id + "@example.edu");
+                if (reuse) repo.add(st);
+                else try (var p = conn.prepareStatement("INSERT INTO students (id,name,age,grade,email) VALUES (?,?,?,?,?)")) {
+                    p.setInt(1, st.getId()); p.setString(2, st.getName()); p.setInt(3, st.getAge()); p.setString(4, st.getGrade()); p.setString(5, st.getEmail());
+                    p.executeUpdate();
+                }
+            }
+            double insert = (System.nanoTime() - start) / 1e3 / rows;
+            long found = 0;
+            start = System.nanoTime();
+            for (int i = 0; i < lookups; i++) {
+                int id = 1 + random.nextInt(rows);
+                if (reuse) { if (repo.findById(id) != null) found++; }
+                else try (var p = conn.prepareStatement("SELECT * FROM students WHERE id=?")) {
+                    p.setInt(1, id);
+                    try (var rs = p.executeQuery()) { if (rs.next()) found++; }
+                }
+            }
+            double lookup = (System.nanoTime() - start) / 1e3 / lookups;
+            if (found != lookups) throw new IllegalStateException("Expected " + lookups + " rows, found " + found);
+            return new Result(insert, lookup);
+        }
+    }
+}
@@ -1,6 +1,8 @@
 // Student.java
 // Represents a student in the management system
 
+package sms;
+
 public class Student {
     private int id;
     private String name;
@@ -23,6 +25,16 @@ public class Student {
     public String getEmail() { return email; }
     public void setEmail(String email) { this.email = email; }
 
+    // Same rules as interactive input; returns a description of the first problem, or null if valid
+    public String validate() {
+        if (id <= 0) return "ID must be a positive integer";
+        if (name == null || name.isBlank()) return "name is empty";
+        if (age < 5 || age > 100) return "age must be between 5 and 100";
+        if (grade == null || grade.isBlank()) return "grade is empty";
+        if (email == null || !StudentManagementSystem.EMAIL_PATTERN.matcher(email).matches()) return "invalid email '" + email + "'";
+        return null;
+    }
+
     @Override
     public String toString() {
         return "ID: " + id + ", Name: " + name + ", Age: " + age + ", Grade: " + grade + ", Email: " + email;
@@ -0,0 +1,117 @@
+// StudentCache.java
+// Bounded LRU cache of students keyed by primitive int id (no Integer boxing).
+// Entries live in parallel arrays linked into a recency list; an IntSlotTable
+// maps ids to entry slots. All methods are synchronized so pooled
+// repositories can share one cache.
+
+package sms;
+
+public class StudentCache {
+    public static final int DEFAULT_CAPACITY = 10_000;
+    private static final int NONE = IntSlotTable.NONE;
+
+    private final int capacity;
+    // Entry slots: key, value and recency links (head = most recently used)
+    private final int[] keys, prev, next;
+    private final Student[] values;
+    private final IntSlotTable table;
+    private int size, used, head = NONE, tail = NONE, free = NONE;
+    private long hits, misses, evictions;
+    // Bumped by every write-path put/remove; lets readers detect a write that raced their DB read
+    private long writeStamp;
+
+    public StudentCache(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Cache capacity must be positive.");
+        this.capacity = capacity;
+        keys = new int[capacity]; prev = new int[capacity]; next = new int[capacity];
+        values = new Student[capacity];
+        table = new IntSlotTable(capacity);
+    }
+
+    /** Returns the cached student or null, counting a hit or a miss. */
+    public synchronized Student get(int id) {
+        int slot = table.get(id);
+        if (slot == NONE) { misses++; return null; }
+        hits++;
+        moveToFront(slot);
+        return values[slot];
+    }
+
+    /** Caches (or replaces) the student after a write, evicting the least recently used entry when full. */
+    public synchronized void put(Student s) {
+        writeStamp++;
+        store(s);
+    }
+
+    /** Current write stamp; take it before reading a row from the database. */
+    public synchronized long writeStamp() { return writeStamp; }
+
+    /** Caches a student read from the database unless a write happened since stamp was taken. */
+    public synchronized void putIfUnchanged(Student s, long stamp) {
+        if (stamp == writeStamp) store(s);
+    }
+
+    private void store(Student s) {
+        int id = s.getId();
+        int slot = table.get(id);
+        if (slot != NONE) { values[slot] = s; moveToFront(slot); return; }
+        if (size == capacity) { evictions++; removeSlot(tail); }
+        if (free != NONE) { slot = free; free = next[slot]; }
+        else slot = used++;
+        keys[slot] = id; values[slot] = s;
+        linkFront(slot);
+        table.put(id, slot);
+        size++;
+    }
+
+    /** Drops the entry for id, if cached. */
+    public synchronized void remove(int id) {
+        writeStamp++;
+        int slot = table.get(id);
+        if (slot != NONE) removeSlot(slot);
+    }
+
+    public synchronized void clear() {
+        writeStamp++;
+        table.clear();
+        java.util.Arrays.fill(values, null);
+        size = used = 0; head = tail = free = NONE;
+    }
+
+    public synchronized int size() { return size; }
+    public int capacity() { return capacity; }
+    public synchronized long hits() { return hits; }
+    public synchronized long misses() { return misses; }
+    public synchronized long evictions() { return evictions; }
+
+    @Override
+    public synchronized String toString() {
+        long lookups = hits + misses;
+        return String.format("Cache: %d/%d entries, %d hits, %d misses (%.1f%% hit rate), %d evictions",
+                size, capacity, hits, misses, lookups == 0 ? 0.0 : hits * 100.0 / lookups, evictions);
+    }
+
+    private void removeSlot(int slot) {
+        table.remove(keys[slot]);
+        unlink(slot);
+        values[slot] = null;
+        next[slot] = free; free = slot;
+        size--;
+    }
+
+    private void moveToFront(int slot) {
+        if (slot == head) return;
+        unlink(slot);
+        linkFront(slot);
+    }
+    private void linkFront(int slot) {
+        prev[slot] = NONE; next[slot] = head;
+        if (head != NONE) prev[head] = slot;
+        head = slot;
+        if (tail == NONE) tail = slot;
+    }
+    private void unlink(int slot) {
+        if (prev[slot] != NONE) next[prev[slot]] = next[slot]; else head = next[slot];
+        if (next[slot] != NONE) prev[next[slot]] = prev[slot]; else tail = prev[slot];
+    }
+}
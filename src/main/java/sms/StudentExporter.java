@@ -0,0 +1,240 @@
+// StudentExporter.java
+// Streams the students table to CSV or JSON Lines (optionally gzip-compressed).
+// Rows are read with a fixed fetch size and encoded straight into a reusable
+// byte buffer that is drained to a FileChannel, so memory use stays flat.
+
+package sms;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.zip.GZIPOutputStream;
+
+public class StudentExporter {
+    public enum Format {
+        CSV(".csv"), JSONL(".jsonl");
+
+        final String extension;
+        Format(String extension) { this.extension = extension; }
+
+        public static Format parse(String s) {
+            return switch (s.trim().toLowerCase()) {
+                case "csv" -> CSV;
+                case "jsonl", "json", "ndjson" -> JSONL;
+                default -> throw new IllegalArgumentException("Unknown export format: " + s + " (expected csv or jsonl)");
+            };
+        }
+        // Guesses the format from a file name such as "students.jsonl.gz"
+        public static Format fromFileName(String fileName) {
+            String f = fileName.toLowerCase();
+            if (f.endsWith(".gz")) f = f.substring(0, f.length() - 3);
+            return f.endsWith(JSONL.extension) || f.endsWith(".json") ? JSONL : CSV;
+        }
+    }
+
+    public static final int FETCH_SIZE = 1000;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final long PROGRESS_INTERVAL = 100_000;
+    private static final byte[] CSV_HEADER = "ID,Name,Age,Grade,Email\n".getBytes();
+    private static final byte[] CHANGES_CSV_HEADER = "Op,ID,Name,Age,Grade,Email,Version\n".getBytes();
+    // Changed rows and tombstones in version order; name is NULL for deletes
+    private static final String CHANGES_SQL = "SELECT id,name,age,grade,email,version FROM students WHERE version > ? AND version <= ? "
+            + "UNION ALL SELECT id,NULL,0,NULL,NULL,version FROM student_tombstones WHERE version > ? AND version <= ? ORDER BY 6";
+
+    private final Connection conn;
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private final ByteBuffer view = ByteBuffer.wrap(buf);
+    private int pos;
+    private long bytes;
+    private WritableByteChannel out;
+    private PrintStream log = System.out;
+
+    public StudentExporter(Connection conn) { this.conn = conn; }
+
+    /** Where progress and the final report are printed (System.out by default). */
+    public void setLog(PrintStream log) { this.log = log; }
+
+    /** Streams every student to the given file and prints a throughput report; returns the row count. */
+    public long export(Path file, Format format, boolean gzip) throws IOException, SQLException {
+        long start = System.nanoTime(), rows = 0;
+        pos = 0; bytes = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             WritableByteChannel target = gzip ? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) : channel;
+             var stmt = conn.createStatement()) {
+            out = target;
+            stmt.setFetchSize(FETCH_SIZE);
+            if (format == Format.CSV) put(CSV_HEADER);
+            try (var rs = stmt.executeQuery("SELECT id,name,age,grade,email FROM students ORDER BY id")) {
+                while (rs.next()) {
+                    if (format == Format.CSV) writeCsv(rs.getInt(1), rs.getString(2), rs.getInt(3), rs.getString(4), rs.getString(5));
+                    else writeJson(rs.getInt(1), rs.getString(2), rs.getInt(3), rs.getString(4), rs.getString(5));
+                    if (++rows % PROGRESS_INTERVAL == 0) printProgress(rows, start);
+                }
+            }
+            drain();
+        } finally {
+            out = null;
+        }
+        printReport(file, format, gzip, rows, start);
+        return rows;
+    }
+
+    /**
+     * Streams the rows changed and deleted with after < version <= upTo, in version order, each
+     * tagged with op "upsert" or "delete". Run it inside the transaction that read upTo. Returns the change count.
+     */
+    public long exportChanges(Path file, Format format, boolean gzip, long after, long upTo) throws IOException, SQLException {
+        long start = System.nanoTime(), rows = 0;
+        pos = 0; bytes = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             WritableByteChannel target = gzip ? Channels.newChannel(new GZIPOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE)) : channel;
+             var p = conn.prepareStatement(CHANGES_SQL)) {
+            out = target;
+            p.setFetchSize(FETCH_SIZE);
+            p.setLong(1, after); p.setLong(2, upTo); p.setLong(3, after); p.setLong(4, upTo);
+            if (format == Format.CSV) put(CHANGES_CSV_HEADER);
+            try (var rs = p.executeQuery()) {
+                while (rs.next()) {
+                    String name = rs.getString(2);
+                    if (format == Format.CSV) {
+                        putAscii(name == null ? "delete," : "upsert,");
+                        if (name == null) { putInt(rs.getInt(1)); putAscii(",,,,"); }
+                        else writeCsvFields(rs.getInt(1), name, rs.getInt(3), rs.getString(4), rs.getString(5));
+                        put((byte) ','); putLong(rs.getLong(6)); put((byte) '\n');
+                    } else {
+                        if (name == null) { putAscii("{\"op\":\"delete\",\"id\":"); putInt(rs.getInt(1)); }
+                        else { putAscii("{\"op\":\"upsert\","); writeJsonFields(rs.getInt(1), name, rs.getInt(3), rs.getString(4), rs.getString(5)); }
+                        putAscii(",\"version\":"); putLong(rs.getLong(6)); putAscii("}\n");
+                    }
+                    if (++rows % PROGRESS_INTERVAL == 0) printProgress(rows, start);
+                }
+            }
+            drain();
+        } finally {
+            out = null;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.printf("Exported %d changes (versions %d-%d) to %s in %.2fs.%n", rows, after + 1, upTo, file, seconds);
+        return rows;
+    }
+
+    private void writeCsv(int id, String name, int age, String grade, String email) throws IOException {
+        writeCsvFields(id, name, age, grade, email);
+        put((byte) '\n');
+    }
+    private void writeCsvFields(int id, String name, int age, String grade, String email) throws IOException {
+        putInt(id); put((byte) ',');
+        putCsv(name); put((byte) ',');
+        putInt(age); put((byte) ',');
+        putCsv(grade); put((byte) ',');
+        putCsv(email);
+    }
+
+    private void writeJson(int id, String name, int age, String grade, String email) throws IOException {
+        put((byte) '{');
+        writeJsonFields(id, name, age, grade, email);
+        putAscii("}\n");
+    }
+    private void writeJsonFields(int id, String name, int age, String grade, String email) throws IOException {
+        putAscii("\"id\":"); putInt(id);
+        putAscii(",\"name\":"); putJson(name);
+        putAscii(",\"age\":"); putInt(age);
+        putAscii(",\"grade\":"); putJson(grade);
+        putAscii(",\"email\":"); putJson(email);
+    }
+
+    // Quotes the field only when it contains a comma, quote or line break
+    private void putCsv(String s) throws IOException {
+        if (s == null) return;
+        boolean quote = false;
+        for (int i = 0, n = s.length(); i < n && !quote; i++) { char c = s.charAt(i); quote = c == ',' || c == '"' || c == '\n' || c == '\r'; }
+        if (quote) put((byte) '"');
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            if (c == '"') put((byte) '"');
+            i = putChar(s, i, c);
+        }
+        if (quote) put((byte) '"');
+    }
+
+    private void putJson(String s) throws IOException {
+        if (s == null) { putAscii("null"); return; }
+        put((byte) '"');
+        for (int i = 0, n = s.length(); i < n; i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"' -> putAscii("\\\"");
+                case '\\' -> putAscii("\\\\");
+                case '\n' -> putAscii("\\n");
+                case '\r' -> putAscii("\\r");
+                case '\t' -> putAscii("\\t");
+                default -> {
+                    if (c < 0x20) { putAscii("\\u00"); put(HEX[c >> 4]); put(HEX[c & 0xF]); }
+                    else i = putChar(s, i, c);
+                }
+            }
+        }
+        put((byte) '"');
+    }
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    // UTF-8 encodes s.charAt(i) (and its low surrogate, if any); returns the index of the last char consumed
+    private int putChar(String s, int i, char c) throws IOException {
+        if (pos > BUFFER_SIZE - 4) drain();
+        if (c < 0x80) buf[pos++] = (byte) c;
+        else if (c < 0x800) { buf[pos++] = (byte) (0xC0 | c >> 6); buf[pos++] = (byte) (0x80 | c & 0x3F); }
+        else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+            int cp = Character.toCodePoint(c, s.charAt(++i));
+            buf[pos++] = (byte) (0xF0 | cp >> 18); buf[pos++] = (byte) (0x80 | cp >> 12 & 0x3F);
+            buf[pos++] = (byte) (0x80 | cp >> 6 & 0x3F); buf[pos++] = (byte) (0x80 | cp & 0x3F);
+        } else if (Character.isSurrogate(c)) buf[pos++] = '?'; // unpaired surrogate, replaced as String.getBytes(UTF_8) does
+        else {
+            buf[pos++] = (byte) (0xE0 | c >> 12); buf[pos++] = (byte) (0x80 | c >> 6 & 0x3F); buf[pos++] = (byte) (0x80 | c & 0x3F);
+        }
+        return i;
+    }
+
+    private void putInt(int v) throws IOException {
+        if (pos > BUFFER_SIZE - 11) drain();
+        if (v == Integer.MIN_VALUE) { putAscii("-2147483648"); return; }
+        if (v < 0) { buf[pos++] = '-'; v = -v; }
+        int end = pos + digits(v);
+        for (int i = end - 1; i >= pos; i--) { buf[i] = (byte) ('0' + v % 10); v /= 10; }
+        pos = end;
+    }
+    private void putLong(long v) throws IOException {
+        if (v >= Integer.MIN_VALUE && v <= Integer.MAX_VALUE) putInt((int) v); else putAscii(Long.toString(v));
+    }
+    private static int digits(int v) { int d = 1; while (v >= 10) { v /= 10; d++; } return d; }
+
+    private void putAscii(String s) throws IOException { for (int i = 0, n = s.length(); i < n; i++) put((byte) s.charAt(i)); }
+    private void put(byte[] b) throws IOException { for (byte x : b) put(x); }
+    private void put(byte b) throws IOException {
+        if (pos == BUFFER_SIZE) drain();
+        buf[pos++] = b;
+    }
+
+    private void drain() throws IOException {
+        view.clear().limit(pos);
+        while (view.hasRemaining()) out.write(view);
+        bytes += pos;
+        pos = 0;
+    }
+
+    private void printProgress(long rows, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.printf("  ... %d rows exported (%.0f rows/sec)%n", rows, rows / seconds);
+    }
+
+    private void printReport(Path file, Format format, boolean gzip, long rows, long start) throws IOException {
+        if (rows == 0) { log.println("No students to export."); return; }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        double mb = bytes / (1024.0 * 1024.0);
+        log.printf("Exported %d students to %s (%s%s) in %.2fs: %.0f rows/sec, %.1f MB encoded (%.1f MB/sec)%s%n",
+                rows, file, format, gzip ? ", gzip" : "", seconds, rows / seconds, mb, mb / seconds,
+                gzip ? String.format(", %.1f MB on disk", Files.size(file) / (1024.0 * 1024.0)) : "");
+    }
+}
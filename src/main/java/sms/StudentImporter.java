@@ -0,0 +1,133 @@
+// StudentImporter.java
+// Streams a CSV file (same layout as the CSV export) into the students table
+// using batched inserts committed in fixed-size transactions. A batch that hits a
+// constraint (a duplicate id or email) is rolled back and its rows inserted one at a
+// time, so every rejected row is reported with the actual reason. Each batch reserves
+// its change-tracking versions in one step (see ChangeFeed) instead of per row.
+
+package sms;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.List;
+import java.util.TreeMap;
+
+public class StudentImporter {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    /** Rows per transaction are buffered in memory, and larger batches stop paying off well before this. */
+    public static final int MAX_BATCH_SIZE = 10_000;
+    private static final int MAX_REPORTED_REJECTS = 20;
+    private static final String INSERT_SQL = "INSERT INTO students (id,name,age,grade,email,version) VALUES (?,?,?,?,?,?)";
+
+    private final Connection conn;
+    private final int batchSize;
+    // The first MAX_REPORTED_REJECTS rejects by line number (batch rejects are found after later validation rejects)
+    private final TreeMap<Long, String> rejects = new TreeMap<>();
+    private long imported, rejected;
+    private PrintStream log = System.out;
+
+    public StudentImporter(Connection conn, int batchSize) {
+        if (batchSize <= 0 || batchSize > MAX_BATCH_SIZE) throw new IllegalArgumentException("Batch size must be between 1 and " + MAX_BATCH_SIZE + ".");
+        this.conn = conn; this.batchSize = batchSize;
+    }
+
+    public long getImported() { return imported; }
+    public long getRejected() { return rejected; }
+    /** Where the summary is printed (System.out by default). */
+    public void setLog(PrintStream log) { this.log = log; }
+
+    /** Imports the file and prints a summary (imported, rejected rows, throughput). */
+    public void importFile(Path file) throws IOException, SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = conn.getAutoCommit();
+        // Line number and row of each insert queued in the current batch, so rejects can be reported
+        long[] batchLines = new long[batchSize];
+        Student[] batch = new Student[batchSize];
+        int pending = 0;
+        conn.setAutoCommit(false);
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8); var p = conn.prepareStatement(INSERT_SQL)) {
+            CsvReader csv = new CsvReader(reader);
+            boolean first = true;
+            while (csv.next()) {
+                List<String> fields = csv.fields();
+                if (first && fields.get(0).equalsIgnoreCase("ID")) { first = false; continue; } // header
+                first = false;
+                String error = parse(fields, batch, pending);
+                if (error != null) reject(csv.recordLine(), error);
+                else batchLines[pending++] = csv.recordLine();
+                if (pending == batchSize) { flush(p, batch, batchLines, pending); pending = 0; }
+            }
+            if (pending > 0) flush(p, batch, batchLines, pending);
+        } catch (IOException | SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        printSummary(file, System.nanoTime() - start);
+    }
+
+    private void flush(PreparedStatement p, Student[] batch, long[] batchLines, int count) throws SQLException {
+        try {
+            long version = ChangeFeed.reserve(conn, count);
+            for (int i = 0; i < count; i++) { bind(p, batch[i], version + i); p.addBatch(); }
+            p.executeBatch();
+            conn.commit();
+            imported += count;
+            return;
+        } catch (SQLException e) {
+            p.clearBatch();
+            conn.rollback();
+            if (!ConnectionFactory.isConstraintViolation(e)) throw e;
+        }
+        // A failed statement only undoes itself, so the good rows still commit together
+        long version = ChangeFeed.reserve(conn, count);
+        for (int i = 0; i < count; i++) {
+            bind(p, batch[i], version + i);
+            try { p.executeUpdate(); imported++; }
+            catch (SQLException e) {
+                if (!ConnectionFactory.isConstraintViolation(e)) throw e;
+                String message = String.valueOf(e.getMessage());
+                reject(batchLines[i], message.contains("students.email") ? "email already belongs to another student"
+                        : message.contains("students.id") || message.contains("PRIMARY KEY") ? "student ID already exists" : message);
+            }
+        }
+        conn.commit();
+    }
+
+    // Validates the current record with the same rules as interactive input; stores it in batch[i] or returns the error
+    private static String parse(List<String> fields, Student[] batch, int i) {
+        if (fields.size() != 5) return "expected 5 fields but found " + fields.size();
+        int id, age;
+        try { id = Integer.parseInt(fields.get(0).trim()); } catch (NumberFormatException e) { return "invalid ID '" + fields.get(0) + "'"; }
+        try { age = Integer.parseInt(fields.get(2).trim()); } catch (NumberFormatException e) { return "invalid age '" + fields.get(2) + "'"; }
+        Student s = new Student(id, fields.get(1).trim(), age, fields.get(3).trim(), fields.get(4).trim());
+        String error = s.validate();
+        if (error == null) batch[i] = s;
+        return error;
+    }
+
+    private static void bind(PreparedStatement p, Student s, long version) throws SQLException {
+        p.setInt(1, s.getId()); p.setString(2, s.getName()); p.setInt(3, s.getAge()); p.setString(4, s.getGrade()); p.setString(5, s.getEmail()); p.setLong(6, version);
+    }
+
+    private void reject(long lineNumber, String reason) {
+        rejected++;
+        rejects.put(lineNumber, "  line " + lineNumber + ": " + reason);
+        if (rejects.size() > MAX_REPORTED_REJECTS) rejects.pollLastEntry();
+    }
+
+    private void printSummary(Path file, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        long rows = imported + rejected;
+        log.printf("Imported %d students from %s (%d rejected) in %.2fs, %.0f rows/sec.%n",
+                imported, file, rejected, seconds, seconds > 0 ? rows / seconds : rows);
+        if (rejected > 0) {
+            log.println("Rejected rows:");
+            rejects.values().forEach(log::println);
+            if (rejected > rejects.size()) log.println("  ... and " + (rejected - rejects.size()) + " more");
+        }
+    }
+}
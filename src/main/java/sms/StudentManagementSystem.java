@@ -0,0 +1,464 @@
+package sms;
+
+import java.util.Scanner;
+import java.util.regex.Pattern;
+import java.nio.file.*;
+import java.sql.*;
+import java.io.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class StudentManagementSystem {
+    private static final Logger log = LoggerFactory.getLogger(StudentManagementSystem.class);
+    static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+$");
+    private static Connection conn;
+    private static StudentRepository repository;
+    private static final Scanner scanner = new Scanner(System.in);
+
+    public static void main(String[] args) {
+        MetricsReporter metrics = MetricsReporter.fromSystemProperties();
+        try {
+            // Kiosk mode reads a snapshot file only and never opens the database
+            if (args.length > 0 && args[0].equals("kiosk")) { runKiosk(args.length > 1 ? args[1] : StudentSnapshot.DEFAULT_FILE); return; }
+            // The server attaches its own queue to its connection pool
+            connectDatabase(args.length == 0 || !args[0].equals("serve"));
+            if (args.length > 0) { runCommand(args); return; }
+            buildFuzzyIndex();
+            boolean running = true;
+            while (running) {
+                System.out.println("\n===== Student Management System =====\n1. Add a new student\n2. View all students\n3. Search for a student by ID\n4. Search students (name, email, grade, age)\n5. Update student information\n6. Delete a student by ID\n7. Export all students (CSV/JSON Lines)\n8. Import students from CSV\n9. Show report (grades, ages, email domains)\n10. Show statistics\n11. Exit the program");
+                    switch (getIntInput("Enter your choice: ")) {
+                        case 1 -> addStudent();
+                        case 2 -> viewAllStudents();
+                        case 3 -> searchStudentById();
+                        case 4 -> searchStudents();
+                        case 5 -> updateStudent();
+                        case 6 -> deleteStudentById();
+                        case 7 -> exportStudents();
+                        case 8 -> importFromCSV();
+                        case 9 -> showReport(StudentReport.DEFAULT_TOP_DOMAINS);
+                        case 10 -> showStatistics();
+                        case 11 -> { System.out.println("Exiting program. Goodbye!"); running = false; }
+                    default -> System.out.println("Invalid choice. Please try again.");
+                }
+                reportRejectedWrites();
+            }
+        } catch (Exception e) { log.error("Startup error", e); System.out.println("Startup error: " + e.getMessage()); }
+        finally { closeDatabase(); scanner.close(); metrics.close(); }
+    }
+
+    // Queued writes are acknowledged before they reach the database, so any it later rejects are reported here
+    private static void reportRejectedWrites() {
+        if (repository == null || repository.getWriteBehind() == null) return;
+        for (String r : repository.getWriteBehind().takeRejected()) System.out.println("Warning: a queued change was rejected by the database and dropped (" + r + ").");
+    }
+    private static void connectDatabase(boolean writeBehind) throws Exception {
+        Class.forName("org.sqlite.JDBC");
+        ConnectionFactory factory = ConnectionFactory.fromSystemProperties(ConnectionFactory.DEFAULT_URL);
+        conn = factory.open();
+        createStudentTable();
+        // Writes journaled but not yet flushed when the last session ended (e.g. a crash) are applied first
+        int replayed = WriteBehindQueue.replay(conn, WriteBehindQueue.journalPath());
+        if (replayed > 0) { log.info("Replayed {} journaled writes", replayed); System.out.println("Recovered " + replayed + " unflushed changes from " + WriteBehindQueue.journalPath() + "."); }
+        StudentCache cache = new StudentCache(Integer.getInteger("sms.cacheSize", StudentCache.DEFAULT_CAPACITY));
+        repository = new StudentRepository(conn, cache);
+        if (writeBehind) repository.setWriteBehind(WriteBehindQueue.fromSystemProperties(factory, cache));
+    }
+    // Interactive sessions only; -Dsms.fuzzyIndex=false skips it (fuzzy search is then unavailable)
+    private static void buildFuzzyIndex() {
+        if (!Boolean.parseBoolean(System.getProperty("sms.fuzzyIndex", "true"))) return;
+        long t = System.nanoTime();
+        try {
+            repository.flush();
+            FuzzyIndex index = FuzzyIndex.build(conn);
+            repository.setFuzzyIndex(index);
+            log.info("Built {} in {} ms", index, (System.nanoTime() - t) / 1_000_000);
+        } catch (Exception e) { log.warn("Fuzzy index not built", e); System.out.println("Warning: fuzzy search unavailable: " + e.getMessage()); }
+    }
+    private static void createStudentTable() throws SQLException {
+        try (Statement s = conn.createStatement()) {
+            s.execute("CREATE TABLE IF NOT EXISTS students (id INTEGER PRIMARY KEY, name TEXT NOT NULL, age INTEGER NOT NULL, grade TEXT NOT NULL, email TEXT NOT NULL, version INTEGER NOT NULL DEFAULT 0)");
+            // Secondary indexes for search; grade includes id so keyset paging needs no sort
+            s.execute("CREATE INDEX IF NOT EXISTS idx_students_name ON students(name COLLATE NOCASE)");
+            s.execute("CREATE INDEX IF NOT EXISTS idx_students_grade ON students(grade, id)");
+            s.execute("CREATE INDEX IF NOT EXISTS idx_students_age ON students(age)");
+            try { s.execute("CREATE UNIQUE INDEX IF NOT EXISTS idx_students_email ON students(email)"); }
+            catch (SQLException e) { System.out.println("Warning: unique email index not created (duplicate emails exist?): " + e.getMessage()); }
+        }
+        ChangeFeed.install(conn);
+    }
+    private static void closeDatabase() {
+        if (repository != null && repository.getWriteBehind() != null) {
+            try { repository.getWriteBehind().close(); } catch (Exception e) { log.error("Final write-behind flush failed; changes remain in the journal", e); System.out.println("Warning: could not flush pending changes (" + e.getMessage() + "); they will be replayed on next start."); }
+            reportRejectedWrites();
+        }
+        if (repository != null) repository.close(); try { if (conn != null && !conn.isClosed()) conn.close(); } catch (Exception ignored) {} }
+
+    // Non-interactive entry points, e.g. "import students.csv 5000" or "export students.jsonl.gz"
+    private static void runCommand(String[] args) {
+        switch (args[0]) {
+            case "export" -> {
+                if (args.length < 2) { System.out.println("Usage: export <file> [csv|jsonl] [gzip]"); return; }
+                StudentExporter.Format format;
+                try { format = args.length > 2 ? StudentExporter.Format.parse(args[2]) : StudentExporter.Format.fromFileName(args[1]); }
+                catch (IllegalArgumentException e) { System.out.println(e.getMessage()); return; }
+                boolean gzip = args.length > 3 ? args[3].equalsIgnoreCase("gzip") : args[1].toLowerCase().endsWith(".gz");
+                exportFile(args[1], format, gzip);
+            }
+            case "delta" -> {
+                if (args.length < 2) { System.out.println("Usage: delta <file> [consumer]"); return; }
+                String file = args[1], consumer = args.length > 2 ? args[2] : ChangeFeed.DEFAULT_CONSUMER;
+                long t = System.nanoTime(); boolean ok = false;
+                try { repository.flush(); ChangeFeed.exportDelta(conn, Paths.get(file), StudentExporter.Format.fromFileName(file), file.toLowerCase().endsWith(".gz"), consumer); ok = true; }
+                catch (Exception e) { log.warn("delta export to {} failed", file, e); System.out.println("Failed to export changes: " + e.getMessage()); }
+                finally { Metrics.DELTA_EXPORT.record(t, ok); }
+            }
+            case "import" -> {
+                if (args.length < 2) { System.out.println("Usage: import <file> [batchSize]"); return; }
+                int batchSize = StudentImporter.DEFAULT_BATCH_SIZE;
+                if (args.length > 2) {
+                    try { batchSize = Integer.parseInt(args[2]); } catch (NumberFormatException e) { batchSize = 0; }
+                    if (batchSize <= 0 || batchSize > StudentImporter.MAX_BATCH_SIZE) {
+                        System.out.println("Invalid batch size: " + args[2] + " (must be between 1 and " + StudentImporter.MAX_BATCH_SIZE + ")"); return;
+                    }
+                }
+                importFile(args[1], batchSize);
+            }
+            case "serve" -> {
+                int port = StudentServer.DEFAULT_PORT, readers = RepositoryPool.DEFAULT_READERS;
+                try {
+                    if (args.length > 1) port = Integer.parseInt(args[1]);
+                    if (args.length > 2) readers = Integer.parseInt(args[2]);
+                } catch (NumberFormatException e) { System.out.println("Usage: serve [port] [readers]"); return; }
+                try { StudentServer.run(ConnectionFactory.fromSystemProperties(ConnectionFactory.DEFAULT_URL), port, readers, new StudentCache(Integer.getInteger("sms.cacheSize", StudentCache.DEFAULT_CAPACITY))); }
+                catch (Exception e) { log.error("Server error", e); System.out.println("Server error: " + e.getMessage()); }
+            }
+            case "report" -> {
+                int top = StudentReport.DEFAULT_TOP_DOMAINS;
+                if (args.length > 1) {
+                    try { top = Integer.parseInt(args[1]); } catch (NumberFormatException e) { System.out.println("Usage: report [topDomains]"); return; }
+                }
+                if (top <= 0) { System.out.println("Usage: report [topDomains]"); return; }
+                showReport(top);
+            }
+            case "script" -> {
+                int lines = StudentScript.DEFAULT_LINES_PER_TRANSACTION;
+                if (args.length > 2) {
+                    try { lines = Integer.parseInt(args[2]); } catch (NumberFormatException e) { System.out.println("Usage: script [file|-] [linesPerTransaction]"); return; }
+                }
+                runScript(args.length > 1 ? args[1] : "-", lines);
+            }
+            case "snapshot" -> {
+                String file = args.length > 1 ? args[1] : StudentSnapshot.DEFAULT_FILE;
+                long t = System.nanoTime();
+                try { repository.flush(); int rows = StudentSnapshot.write(conn, Paths.get(file)); System.out.printf("Wrote %d students to %s in %.2fs.%n", rows, file, (System.nanoTime() - t) / 1e9); }
+                catch (Exception e) { log.warn("snapshot to {} failed", file, e); System.out.println("Failed to write snapshot: " + e.getMessage()); }
+            }
+            case "bench" -> {
+                int rows = StorageBenchmark.DEFAULT_ROWS;
+                if (args.length > 1) {
+                    try { rows = Integer.parseInt(args[1]); } catch (NumberFormatException e) { System.out.println("Invalid row count: " + args[1]); return; }
+                }
+                try { StorageBenchmark.run(rows); } catch (Exception e) { System.out.println("Benchmark failed: " + e.getMessage()); }
+            }
+            default -> System.out.println("Unknown command: " + args[0] + ". Available commands: import <file> [batchSize], export <file> [csv|jsonl] [gzip], delta <file> [consumer], serve [port] [readers], report [topDomains], snapshot [file], kiosk [file], script [file|-] [linesPerTransaction], bench [rows]");
+        }
+    }
+
+    private static int getIntInput(String prompt) {
+        while (true) {
+            System.out.print(prompt);
+            try { return Integer.parseInt(scanner.nextLine().trim()); } catch (NumberFormatException e) { System.out.println("Invalid input. Please enter a number."); }
+        }
+    }
+    private static String getStringInput(String prompt) {
+        while (true) { System.out.print(prompt); String in = scanner.nextLine().trim(); if (!in.isEmpty()) return in; System.out.println("Input cannot be empty. Please try again."); }
+    }
+    // Allows empty input (used for optional fields when updating)
+    private static String getOptionalInput(String prompt) { System.out.print(prompt); return scanner.nextLine().trim(); }
+
+    // Get integer within range (inclusive)
+    private static int getIntInputInRange(String prompt, int min, int max) {
+        while (true) {
+            int v = getIntInput(prompt);
+            if (v < min || v > max) System.out.println("Value must be between " + min + " and " + max + ".");
+            else return v;
+        }
+    }
+
+    // Get positive integer (>0)
+    private static int getPositiveIntInput(String prompt) {
+        while (true) {
+            int v = getIntInput(prompt);
+            if (v <= 0) System.out.println("Please enter a positive integer.");
+            else return v;
+        }
+    }
+    private static String getEmailInput(String prompt) { while (true) { System.out.print(prompt); String in = scanner.nextLine().trim(); if (EMAIL_PATTERN.matcher(in).matches()) return in; System.out.println("Invalid email format. Please try again."); } }
+
+    private static void addStudent() {
+        System.out.println("\n--- Add New Student ---");
+        int id;
+        // Prompt until a unique, positive ID is provided
+        while (true) {
+            id = getPositiveIntInput("Enter student ID: ");
+            if (studentExists(id)) System.out.println("A student with this ID already exists. Please enter a different ID.");
+            else break;
+        }
+        String name = getStringInput("Enter student name: ");
+        int age = getIntInputInRange("Enter student age: ", 5, 100);
+        String grade = getStringInput("Enter student grade: ");
+        String email = getEmailInput("Enter student email: ");
+        long t = System.nanoTime(); boolean ok = false;
+        try { repository.add(new Student(id, name, age, grade, email)); ok = true; System.out.println("Student added successfully."); }
+        catch (Exception e) { databaseError("addStudent", e); }
+        finally { Metrics.ADD.record(t, ok); }
+    }
+    private static void viewAllStudents() {
+        System.out.println("\n--- All Students ---");
+        int pageSize = getPageSizeInput();
+        try (var pager = new StudentPager(conn, pageSize)) { repository.flush(); browse(pager, Metrics.VIEW); }
+        catch (Exception e) { databaseError("viewAllStudents", e); }
+    }
+    private static int getPageSizeInput() {
+        String in = getOptionalInput("Enter page size (leave blank for " + StudentPager.DEFAULT_PAGE_SIZE + "): ");
+        if (in.isEmpty()) return StudentPager.DEFAULT_PAGE_SIZE;
+        try { int v = Integer.parseInt(in); if (v > 0 && v <= StudentPager.MAX_PAGE_SIZE) return v; } catch (NumberFormatException ignored) {}
+        System.out.println("Page size must be between 1 and " + StudentPager.MAX_PAGE_SIZE + ". Using " + StudentPager.DEFAULT_PAGE_SIZE + ".");
+        return StudentPager.DEFAULT_PAGE_SIZE;
+    }
+    // Shows one page at a time with next/previous navigation; each page is written through one buffered writer
+    private static void browse(StudentPager pager, Metrics metric) throws SQLException {
+        if (!loadPage(pager, metric, 0)) { System.out.println("No students found."); return; }
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 14));
+        while (true) {
+            pager.print(out);
+            if (!pager.hasNext() && !pager.hasPrevious()) return;
+            String cmd = getOptionalInput("[n]ext, [p]revious, [q]uit: ").toLowerCase();
+            if (cmd.equals("q")) return;
+            if (cmd.equals("p")) { if (!loadPage(pager, metric, -1)) System.out.println("Already at the first page."); }
+            else if (cmd.isEmpty() || cmd.equals("n")) { if (!loadPage(pager, metric, 1)) { System.out.println("Already at the last page."); } }
+            else System.out.println("Invalid choice. Please try again.");
+        }
+    }
+    // Loads the first (0), next (1) or previous (-1) page and records its latency; user think time is not measured
+    private static boolean loadPage(StudentPager pager, Metrics metric, int direction) throws SQLException {
+        long t = System.nanoTime(); boolean ok = false;
+        try { boolean moved = direction == 0 ? pager.first() : direction > 0 ? pager.next() : pager.previous(); ok = true; return moved; }
+        finally { metric.record(t, ok); }
+    }
+    private static void searchStudentById() {
+        int id = getIntInput("Enter student ID to search: ");
+        long t = System.nanoTime(); boolean ok = false;
+        try { Student s = repository.findById(id); ok = true; if (s != null) System.out.println("Student found: " + s); else System.out.println("Student with ID " + id + " not found."); }
+        catch (Exception e) { databaseError("searchStudentById", e); }
+        finally { Metrics.SEARCH_BY_ID.record(t, ok); }
+    }
+    private static void searchStudents() {
+        System.out.println("\n--- Search Students ---\n1. By name prefix\n2. By email\n3. By grade\n4. By age range\n5. Fuzzy name or email (typos allowed)\n6. Show query plans");
+        int choice = getIntInputInRange("Enter your choice: ", 1, 6);
+        if (choice == 5) { fuzzySearch(); return; }
+        if (choice == 6) { showQueryPlans(); return; }
+        StudentSearch search = StudentSearch.values()[choice - 1];
+        Object[] params = switch (search) {
+            case NAME_PREFIX -> new Object[] { getStringInput("Enter name prefix: ") };
+            case EMAIL -> new Object[] { getStringInput("Enter email: ") };
+            case GRADE -> new Object[] { getStringInput("Enter grade: ") };
+            case AGE_RANGE -> { int min = getIntInputInRange("Enter minimum age: ", 5, 100); yield new Object[] { min, getIntInputInRange("Enter maximum age: ", min, 100) }; }
+        };
+        int pageSize = getPageSizeInput();
+        try (var pager = search.open(conn, pageSize, params)) { repository.flush(); browse(pager, Metrics.SEARCH); }
+        catch (Exception e) { databaseError("searchStudents", e); }
+    }
+    // Ranked typo-tolerant matches from the in-memory trigram index
+    private static void fuzzySearch() {
+        FuzzyIndex index = repository.getFuzzyIndex();
+        if (index == null) { System.out.println("Fuzzy search is not available (index disabled with -Dsms.fuzzyIndex=false or failed to build)."); return; }
+        String query = getStringInput("Enter name or email: ");
+        long t = System.nanoTime(); boolean ok = false;
+        try {
+            var matches = index.search(query, FuzzyIndex.DEFAULT_LIMIT);
+            int shown = 0;
+            for (FuzzyIndex.Match m : matches) {
+                Student s = repository.findById(m.id());
+                if (s != null) { System.out.printf("%3.0f%%  %s%n", m.score() * 100, s); shown++; }
+            }
+            ok = true;
+            if (shown == 0) System.out.println("No similar students found.");
+        } catch (Exception e) { databaseError("fuzzySearch", e); }
+        finally { Metrics.SEARCH.record(t, ok); }
+    }
+    // Prints the EXPLAIN QUERY PLAN of every search so index usage can be verified
+    private static void showQueryPlans() {
+        try {
+            for (StudentSearch search : StudentSearch.values()) {
+                Object[] sample = search == StudentSearch.AGE_RANGE ? new Object[] { 18, 25 } : new Object[] { "a" };
+                System.out.println(search.getLabel() + ":");
+                for (String step : search.explain(conn, sample)) System.out.println("  " + step);
+            }
+        } catch (Exception e) { databaseError("showQueryPlans", e); }
+    }
+    private static void updateStudent() {
+        int id = getIntInput("Enter student ID to update: "); Student r = getStudent(id); if (r==null) { System.out.println("Student with ID " + id + " not found."); return; }
+        System.out.println("Current info: " + r);
+        String name = getOptionalInput("Enter new name (leave blank to keep current): "); if (name.isEmpty()) name = r.getName(); else name = name.trim();
+        String ageStr = getOptionalInput("Enter new age (leave blank to keep current): "); int age = r.getAge(); if (!ageStr.isEmpty()) {
+            try { int parsed = Integer.parseInt(ageStr.trim()); if (parsed < 5 || parsed > 100) { System.out.println("Age must be between 5 and 100. Keeping current value."); } else age = parsed; } catch (NumberFormatException e) { System.out.println("Invalid age. Keeping current value."); }
+        }
+        String grade = getOptionalInput("Enter new grade (leave blank to keep current): "); if (grade.isEmpty()) grade = r.getGrade(); else grade = grade.trim();
+        String email = getOptionalInput("Enter new email (leave blank to keep current): "); if (email.isEmpty()) email = r.getEmail(); else if (!EMAIL_PATTERN.matcher(email).matches()) { System.out.println("Invalid email format. Keeping current value."); email = r.getEmail(); }
+        long t = System.nanoTime(); boolean ok = false;
+        try { boolean updated = repository.update(new Student(id, name, age, grade, email)); ok = true; System.out.println(updated ? "Student updated successfully." : "Student with ID " + id + " not found."); }
+        catch (Exception e) { databaseError("updateStudent", e); }
+        finally { Metrics.UPDATE.record(t, ok); }
+    }
+    private static void deleteStudentById() {
+        int id = getIntInput("Enter student ID to delete: ");
+        long t = System.nanoTime(); boolean ok = false;
+        try { boolean deleted = repository.delete(id); ok = true; System.out.println(deleted?"Student deleted successfully.":"Student with ID " + id + " not found."); }
+        catch (Exception e) { databaseError("deleteStudentById", e); }
+        finally { Metrics.DELETE.record(t, ok); }
+    }
+    private static boolean studentExists(int id) { try { return repository.exists(id); } catch (Exception e) { log.warn("studentExists({}) failed", id, e); return false; } }
+    private static Student getStudent(int id) { try { return repository.findById(id); } catch (Exception e) { log.warn("getStudent({}) failed", id, e); return null; } }
+    private static void databaseError(String operation, Exception e) {
+        log.warn("{} failed", operation, e);
+        System.out.println("Database error: " + e.getMessage());
+    }
+
+    // Runs a script file ("-" for stdin) with one JSON result per line on stdout and the summary on stderr
+    private static void runScript(String fileName, int linesPerTransaction) {
+        WriteBehindQueue writeBehind = repository.getWriteBehind();
+        PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16), false, java.nio.charset.StandardCharsets.UTF_8);
+        try (BufferedReader in = fileName.equals("-") ? new BufferedReader(new InputStreamReader(System.in, java.nio.charset.StandardCharsets.UTF_8), 1 << 16)
+                : Files.newBufferedReader(Paths.get(fileName))) {
+            // The script batches its own transactions, so queued writes are flushed and the queue bypassed
+            repository.flush();
+            repository.setWriteBehind(null);
+            StudentScript script = new StudentScript(repository, linesPerTransaction, out);
+            script.run(in);
+        } catch (Exception e) {
+            log.warn("script {} failed", fileName, e);
+            System.err.println("Script failed: " + e.getMessage());
+        } finally {
+            repository.setWriteBehind(writeBehind);
+            out.flush();
+        }
+    }
+
+    // Read-only browsing and lookup over a snapshot written by the "snapshot" command
+    private static void runKiosk(String fileName) throws IOException {
+        StudentSnapshot snapshot = StudentSnapshot.open(Paths.get(fileName));
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 14));
+        while (true) {
+            System.out.println("\n===== Student Directory (read-only, " + snapshot.size() + " students) =====\n1. View all students\n2. Search for a student by ID\n3. Search students by name prefix\n4. Exit");
+            switch (getIntInput("Enter your choice: ")) {
+                case 1 -> {
+                    if (snapshot.size() == 0) { System.out.println("No students found."); break; }
+                    int pageSize = getPageSizeInput(), from = 0;
+                    while (true) {
+                        snapshot.print(out, from, pageSize);
+                        if (snapshot.size() <= pageSize) break;
+                        String cmd = getOptionalInput("[n]ext, [p]revious, [q]uit: ").toLowerCase();
+                        if (cmd.equals("q")) break;
+                        if (cmd.equals("p")) { if (from == 0) System.out.println("Already at the first page."); else from -= pageSize; }
+                        else if (cmd.isEmpty() || cmd.equals("n")) { if (from + pageSize >= snapshot.size()) System.out.println("Already at the last page."); else from += pageSize; }
+                        else System.out.println("Invalid choice. Please try again.");
+                    }
+                }
+                case 2 -> {
+                    int id = getIntInput("Enter student ID to search: ");
+                    long t = System.nanoTime();
+                    Student s = snapshot.findById(id);
+                    Metrics.SEARCH_BY_ID.record(t, true);
+                    System.out.println(s != null ? "Student found: " + s : "Student with ID " + id + " not found.");
+                }
+                case 3 -> {
+                    byte[] prefix = StudentSnapshot.namePrefix(getStringInput("Enter name prefix: "));
+                    long t = System.nanoTime();
+                    int found = 0;
+                    // Names are compared in the mapping; only matching rows are decoded
+                    for (int r = 0, n = snapshot.size(); r < n; r++) {
+                        if (snapshot.nameStartsWith(r, prefix)) { out.println(snapshot.getStudent(r)); found++; }
+                    }
+                    out.flush();
+                    Metrics.SEARCH.record(t, true);
+                    if (found == 0) System.out.println("No students found.");
+                }
+                case 4 -> { System.out.println("Exiting program. Goodbye!"); return; }
+                default -> System.out.println("Invalid choice. Please try again.");
+            }
+        }
+    }
+
+    // Grade, age and email-domain summary computed by SQL aggregates
+    private static void showReport(int topDomains) {
+        System.out.println("\n--- Student Report ---");
+        long t = System.nanoTime(); boolean ok = false;
+        try { repository.flush(); StudentReport.generate(conn, topDomains).print(System.out); ok = true; }
+        catch (Exception e) { databaseError("showReport", e); }
+        finally { Metrics.REPORT.record(t, ok); }
+    }
+
+    private static void showStatistics() {
+        System.out.println("\n--- Statistics ---");
+        System.out.println(repository.getCache());
+        if (repository.getWriteBehind() != null) System.out.println(repository.getWriteBehind().stats());
+        if (repository.getFuzzyIndex() != null) System.out.println(repository.getFuzzyIndex());
+        System.out.print(Metrics.report());
+    }
+
+    // Export all students to CSV or JSON Lines, optionally gzip-compressed
+    private static void exportStudents() {
+        System.out.println("\n--- Export Students ---");
+        String fmt = getOptionalInput("Enter format (csv/jsonl, leave blank for csv): ");
+        StudentExporter.Format format;
+        try { format = fmt.isEmpty() ? StudentExporter.Format.CSV : StudentExporter.Format.parse(fmt); }
+        catch (IllegalArgumentException e) { System.out.println(e.getMessage()); return; }
+        boolean gzip = getOptionalInput("Compress with gzip? (y/N): ").equalsIgnoreCase("y");
+        String defaultName = "students_export" + format.extension + (gzip ? ".gz" : "");
+        String fileName = getOptionalInput("Enter output file (leave blank for " + defaultName + "): ");
+        exportFile(fileName.isEmpty() ? defaultName : fileName, format, gzip);
+    }
+    private static void exportFile(String fileName, StudentExporter.Format format, boolean gzip) {
+        long t = System.nanoTime(); boolean ok = false;
+        try { repository.flush(); new StudentExporter(conn).export(Paths.get(fileName), format, gzip); ok = true; }
+        catch (Exception e) { log.warn("exportStudents to {} failed", fileName, e); System.out.println("Failed to export: " + e.getMessage()); }
+        finally { Metrics.EXPORT.record(t, ok); }
+    }
+
+    // Bulk import from a CSV file in the export layout
+    private static void importFromCSV() {
+        System.out.println("\n--- Import Students from CSV ---");
+        String fileName = getStringInput("Enter CSV file path: ");
+        String batch = getOptionalInput("Enter batch size (leave blank for " + StudentImporter.DEFAULT_BATCH_SIZE + "): ");
+        int batchSize = StudentImporter.DEFAULT_BATCH_SIZE;
+        if (!batch.isEmpty()) {
+            int v = 0;
+            try { v = Integer.parseInt(batch); } catch (NumberFormatException ignored) {}
+            if (v > 0 && v <= StudentImporter.MAX_BATCH_SIZE) batchSize = v;
+            else System.out.println("Batch size must be between 1 and " + StudentImporter.MAX_BATCH_SIZE + ". Using " + batchSize + ".");
+        }
+        importFile(fileName, batchSize);
+    }
+    private static void importFile(String fileName, int batchSize) {
+        StudentImporter importer = null;
+        long t = System.nanoTime(); boolean ok = false;
+        try {
+            // Imports only insert new rows, so cached students stay valid
+            repository.flush(); // queued writes must land first or they would overwrite imported rows
+            importer = new StudentImporter(conn, batchSize);
+            importer.importFile(Paths.get(fileName));
+            ok = true;
+            // Imported rows bypass the repository, so the fuzzy index is rebuilt to include them
+            if (repository.getFuzzyIndex() != null && importer.getImported() > 0) repository.setFuzzyIndex(FuzzyIndex.build(conn));
+        } catch (Exception e) {
+            log.warn("importFromCSV from {} failed", fileName, e);
+            System.out.println("Failed to import CSV: " + e.getMessage());
+            if (importer != null && importer.getImported() > 0) System.out.println(importer.getImported() + " students were committed before the failure.");
+        } finally {
+            Metrics.IMPORT.record(t, ok);
+        }
+    }
+
+}
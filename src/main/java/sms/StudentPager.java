@@ -0,0 +1,169 @@
+// StudentPager.java
+// Browses students one page at a time using keyset pagination on the id primary key,
+// or on (column, id) for searches served by a column index, so fetching page N costs the
+// same as fetching page 1 and the index order never needs a sort.
+
+package sms;
+
+import java.io.PrintWriter;
+import java.sql.*;
+import java.util.Arrays;
+
+public class StudentPager implements AutoCloseable {
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 1000;
+    private static final String COLUMNS = "SELECT id,name,age,grade,email FROM students WHERE ";
+
+    /** Page order: by id, or by an indexed column with id breaking ties (the order the column's index stores rows in). */
+    public enum Order {
+        ID(null, null),
+        NAME("name COLLATE NOCASE", ""),
+        AGE("age", Integer.MIN_VALUE);
+
+        private final String column;
+        private final Object lowest; // sorts before every stored value
+
+        Order(String column, Object lowest) { this.column = column; this.lowest = lowest; }
+
+        Object lowest() { return lowest; }
+
+        Object key(Student s) { return this == NAME ? s.getName() : this == AGE ? (Object) s.getAge() : null; }
+
+        String seek(boolean reverse) {
+            String cmp = reverse ? " < " : " > ", desc = reverse ? " DESC" : "";
+            if (column == null) return "id" + cmp + "? ORDER BY id" + desc + " LIMIT ?";
+            return "(" + column + ", id)" + cmp + "(?, ?) ORDER BY " + column + desc + ", id" + desc + " LIMIT ?";
+        }
+    }
+
+    private final Connection conn;
+    private final Order order;
+    private final PreparedStatement forward, backward;
+    private final Object[] params;
+    private final int pageSize;
+    // Rows of the current page, reused between pages; grown to the largest page actually fetched
+    private Student[] rows = new Student[0];
+    private int count, loaded, pageNo;
+    private boolean hasNext;
+
+    /** Pages through every student. */
+    public StudentPager(Connection conn, int pageSize) throws SQLException { this(conn, pageSize, Order.ID, null); }
+
+    /** Pages in the given order through students matching the given SQL condition (e.g. "grade = ?") bound to params. */
+    public StudentPager(Connection conn, int pageSize, Order order, String where, Object... params) throws SQLException {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE + ".");
+        this.conn = conn;
+        this.order = order;
+        this.forward = conn.prepareStatement(query(order, where, false));
+        this.backward = conn.prepareStatement(query(order, where, true));
+        this.params = params;
+        this.pageSize = pageSize;
+    }
+
+    /** SQL for a page query; parameters are the filter's, then the sort key (unless ordered by id), the id and the row limit. */
+    static String query(Order order, String where, boolean reverse) { return COLUMNS + filter(where) + order.seek(reverse); }
+    private static String filter(String where) { return where == null ? "" : "(" + where + ") AND "; }
+
+    public int getPageNumber() { return pageNo; }
+    public int getRowCount() { return count; }
+    public boolean hasNext() { return hasNext; }
+    public boolean hasPrevious() { return pageNo > 1; }
+
+    /** Loads the first page; returns false if nothing matches. */
+    public boolean first() throws SQLException { return start(order.lowest, Integer.MIN_VALUE); }
+
+    /**
+     * Loads the page that starts after the student with the given id (page number is then unknown and reported as 1).
+     * When ordered by a column the student has to still exist, since its position comes from its current value.
+     */
+    public boolean from(int afterId) throws SQLException {
+        if (order == Order.ID) return start(null, afterId);
+        try (var p = conn.prepareStatement("SELECT " + order.column + " FROM students WHERE id = ?")) {
+            p.setInt(1, afterId);
+            try (var rs = p.executeQuery()) {
+                if (!rs.next()) throw new IllegalArgumentException("Student " + afterId + " no longer exists; start the listing again.");
+                return start(rs.getObject(1), afterId);
+            }
+        }
+    }
+
+    private boolean start(Object key, int afterId) throws SQLException {
+        pageNo = 1;
+        hasNext = load(forward, key, afterId, false);
+        if (loaded == 0) count = 0;
+        return count > 0;
+    }
+
+    /** Row i (0-based) of the current page. */
+    public Student get(int i) {
+        if (i < 0 || i >= count) throw new IndexOutOfBoundsException(i);
+        return rows[i];
+    }
+
+    /** Moves to the next page; returns false (and stays put) if this is the last page. */
+    public boolean next() throws SQLException {
+        if (!hasNext) return false;
+        Student last = rows[count - 1];
+        hasNext = load(forward, order.key(last), last.getId(), false);
+        if (loaded == 0) return false; // the remaining rows were deleted meanwhile
+        pageNo++;
+        return true;
+    }
+
+    /** Moves to the previous page; returns false (and stays put) if this is the first page. */
+    public boolean previous() throws SQLException {
+        if (!hasPrevious()) return false;
+        boolean more = load(backward, order.key(rows[0]), rows[0].getId(), true);
+        // Rows deleted since we passed this way can leave a short page; start over from the top
+        if (loaded < pageSize) return first();
+        pageNo = more ? pageNo - 1 : 1;
+        hasNext = true;
+        return true;
+    }
+
+    // Fetches up to pageSize rows after (or before) the (key, id) position plus one probe row; returns whether the
+    // probe row exists. The current page is left untouched when nothing is found.
+    private boolean load(PreparedStatement p, Object key, int id, boolean reverse) throws SQLException {
+        int i = 1;
+        for (Object param : params) p.setObject(i++, param);
+        if (order != Order.ID) p.setObject(i++, key);
+        p.setInt(i++, id);
+        p.setInt(i, pageSize + 1);
+        int n = 0;
+        boolean more = false;
+        try (var rs = p.executeQuery()) {
+            while (rs.next()) {
+                if (n == pageSize) { more = true; break; }
+                if (n == rows.length) rows = Arrays.copyOf(rows, Math.min(pageSize, Math.max(16, 2 * n)));
+                Student s = rows[n];
+                if (s == null) rows[n] = new Student(rs.getInt(1), rs.getString(2), rs.getInt(3), rs.getString(4), rs.getString(5));
+                else { s.setId(rs.getInt(1)); s.setName(rs.getString(2)); s.setAge(rs.getInt(3)); s.setGrade(rs.getString(4)); s.setEmail(rs.getString(5)); }
+                n++;
+            }
+        }
+        loaded = n;
+        if (n == 0) return false;
+        count = n;
+        if (reverse) for (int lo = 0, hi = n - 1; lo < hi; lo++, hi--) { Student t = rows[lo]; rows[lo] = rows[hi]; rows[hi] = t; }
+        return more;
+    }
+
+    /** Writes the current page to out and flushes it once. */
+    public void print(PrintWriter out) {
+        for (int i = 0; i < count; i++) {
+            Student s = rows[i];
+            out.append("ID: ").append(Integer.toString(s.getId())).append(", Name: ").append(s.getName())
+               .append(", Age: ").append(Integer.toString(s.getAge())).append(", Grade: ").append(s.getGrade())
+               .append(", Email: ").append(s.getEmail()).append('\n');
+        }
+        long firstRow = (long) (pageNo - 1) * pageSize + 1;
+        out.append("-- Page ").append(Integer.toString(pageNo)).append(" (rows ").append(Long.toString(firstRow))
+           .append('-').append(Long.toString(firstRow + count - 1)).append(hasNext ? ", more available" : ", end of list").append(") --\n");
+        out.flush();
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try { forward.close(); } finally { backward.close(); }
+    }
+}
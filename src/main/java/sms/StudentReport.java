@@ -0,0 +1,114 @@
+// StudentReport.java
+// End-of-term summary: per-grade counts, age min/max/mean/percentiles and email domains.
+// All of it is pushed down to SQLite as GROUP BY aggregates (grade and age come straight
+// off their covering indexes), so no Student objects are built however large the table.
+// Age percentiles are exact: they are read from the per-age histogram, which has at most
+// ~100 rows since ages are 5..100. The three queries share one read transaction, so
+// a concurrent write cannot make the section totals disagree.
+
+package sms;
+
+import java.io.PrintStream;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StudentReport {
+    public static final int DEFAULT_TOP_DOMAINS = 10;
+    private static final double[] PERCENTILES = { 0.25, 0.50, 0.75, 0.90, 0.99 };
+
+    private static final String GRADES_SQL = "SELECT grade, COUNT(*) FROM students GROUP BY grade ORDER BY grade";
+    private static final String AGES_SQL = "SELECT age, COUNT(*) FROM students GROUP BY age ORDER BY age";
+    private static final String DOMAINS_SQL = "SELECT lower(substr(email, instr(email, '@') + 1)) AS domain, COUNT(*) AS n FROM students GROUP BY domain ORDER BY n DESC, domain";
+
+    /** A label with its row count. */
+    public record Count(String key, long count) { }
+
+    private final List<Count> grades = new ArrayList<>(), domains = new ArrayList<>();
+    private final int[] ages;
+    private final long[] ageCounts;
+    private final long total;
+    private final long otherDomains;
+    private final int otherDomainCount;
+
+    private StudentReport(Connection conn, int topDomains) throws SQLException {
+        try (Statement st = conn.createStatement()) {
+            try (ResultSet rs = st.executeQuery(GRADES_SQL)) {
+                while (rs.next()) grades.add(new Count(rs.getString(1), rs.getLong(2)));
+            }
+            List<long[]> hist = new ArrayList<>();
+            try (ResultSet rs = st.executeQuery(AGES_SQL)) {
+                while (rs.next()) hist.add(new long[] { rs.getInt(1), rs.getLong(2) });
+            }
+            ages = new int[hist.size()];
+            ageCounts = new long[hist.size()];
+            long n = 0;
+            for (int i = 0; i < ages.length; i++) { ages[i] = (int) hist.get(i)[0]; ageCounts[i] = hist.get(i)[1]; n += ageCounts[i]; }
+            total = n;
+            long other = 0;
+            int otherCount = 0;
+            try (ResultSet rs = st.executeQuery(DOMAINS_SQL)) {
+                while (rs.next()) {
+                    if (domains.size() < topDomains) domains.add(new Count(rs.getString(1), rs.getLong(2)));
+                    else { other += rs.getLong(2); otherCount++; }
+                }
+            }
+            otherDomains = other;
+            otherDomainCount = otherCount;
+        }
+    }
+
+    /** Runs the aggregate queries; domains beyond the topDomains largest are summed into one line. */
+    public static StudentReport generate(Connection conn, int topDomains) throws SQLException {
+        if (topDomains <= 0) throw new IllegalArgumentException("topDomains must be positive.");
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try {
+            StudentReport report = new StudentReport(conn, topDomains);
+            conn.commit();
+            return report;
+        } catch (SQLException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    public long getTotal() { return total; }
+    public List<Count> getGrades() { return grades; }
+    public List<Count> getDomains() { return domains; }
+    public int getMinAge() { return ages.length == 0 ? 0 : ages[0]; }
+    public int getMaxAge() { return ages.length == 0 ? 0 : ages[ages.length - 1]; }
+
+    public double getMeanAge() {
+        if (total == 0) return 0;
+        double sum = 0;
+        for (int i = 0; i < ages.length; i++) sum += (double) ages[i] * ageCounts[i];
+        return sum / total;
+    }
+
+    /** Nearest-rank percentile of age, e.g. 0.5 for the median. */
+    public int ageAtPercentile(double fraction) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(fraction * total)), seen = 0;
+        for (int i = 0; i < ages.length; i++) {
+            seen += ageCounts[i];
+            if (seen >= rank) return ages[i];
+        }
+        return getMaxAge();
+    }
+
+    public void print(PrintStream out) {
+        out.println("Students: " + total);
+        if (total == 0) return;
+        out.println("\nGrade        Count      %");
+        for (Count c : grades) out.printf("%-10s %7d %6.1f%n", c.key(), c.count(), 100.0 * c.count() / total);
+        out.printf("%nAge: min %d, max %d, mean %.1f", getMinAge(), getMaxAge(), getMeanAge());
+        for (double p : PERCENTILES) out.printf(", p%d %d", Math.round(p * 100), ageAtPercentile(p));
+        out.println();
+        out.println("\nEmail domain               Count      %");
+        for (Count c : domains) out.printf("%-24s %7d %6.1f%n", c.key(), c.count(), 100.0 * c.count() / total);
+        if (otherDomainCount > 0) out.printf("%-24s %7d %6.1f%n", "(" + otherDomainCount + " others)", otherDomains, 100.0 * otherDomains / total);
+    }
+}
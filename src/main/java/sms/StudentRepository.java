@@ -0,0 +1,128 @@
+// StudentRepository.java
+// Data access for the students table with a read-through, write-through LRU cache.
+// Statements are prepared once per connection and reused, so an instance belongs to one
+// connection (and one thread at a time); several instances may share a StudentCache.
+// With a WriteBehindQueue attached, add/update/delete are journaled and queued instead of
+// executed, and findById sees queued writes before the database does. An attached
+// FuzzyIndex is kept in step with every successful write.
+
+package sms;
+
+import java.sql.*;
+
+public class StudentRepository implements AutoCloseable {
+    private static final String FIND_SQL = "SELECT id,name,age,grade,email FROM students WHERE id=?";
+    private static final String INSERT_SQL = "INSERT INTO students (id,name,age,grade,email) VALUES (?,?,?,?,?)";
+    private static final String UPDATE_SQL = "UPDATE students SET name=?,age=?,grade=?,email=? WHERE id=?";
+    private static final String DELETE_SQL = "DELETE FROM students WHERE id=?";
+
+    private final StatementCache statements;
+    private final StudentCache cache;
+    private WriteBehindQueue writeBehind;
+    private FuzzyIndex fuzzy;
+
+    public StudentRepository(Connection conn, StudentCache cache) {
+        this.statements = new StatementCache(conn); this.cache = cache;
+    }
+
+    public StudentCache getCache() { return cache; }
+    public Connection getConnection() { return statements.getConnection(); }
+    public WriteBehindQueue getWriteBehind() { return writeBehind; }
+
+    /** Routes writes through the given queue (null for direct autocommit writes). */
+    public void setWriteBehind(WriteBehindQueue writeBehind) { this.writeBehind = writeBehind; }
+
+    public FuzzyIndex getFuzzyIndex() { return fuzzy; }
+
+    /** Keeps the given index in sync with add/update/delete (null to detach). */
+    public void setFuzzyIndex(FuzzyIndex fuzzy) { this.fuzzy = fuzzy; }
+
+    /** Applies any queued writes so that scans and bulk operations on the connection see them. */
+    public void flush() throws SQLException {
+        if (writeBehind == null) return;
+        try { writeBehind.flush(); } catch (java.io.IOException e) { throw new SQLException("Could not truncate write-behind journal", e); }
+    }
+
+    /** Returns the student with the given id, or null; served from the cache when possible. */
+    public Student findById(int id) throws SQLException {
+        if (writeBehind != null) {
+            Student queued = writeBehind.pending(id);
+            if (queued != null) return queued == WriteBehindQueue.DELETED ? null : queued;
+        }
+        Student s = cache.get(id);
+        if (s != null) return s;
+        long stamp = cache.writeStamp();
+        var p = statements.get(FIND_SQL);
+        p.setInt(1, id);
+        try (var rs = p.executeQuery()) {
+            if (!rs.next()) return null;
+            s = new Student(rs.getInt(1), rs.getString(2), rs.getInt(3), rs.getString(4), rs.getString(5));
+        }
+        cache.putIfUnchanged(s, stamp);
+        return s;
+    }
+
+    public boolean exists(int id) throws SQLException { return findById(id) != null; }
+
+    public void add(Student s) throws SQLException {
+        if (writeBehind != null) { enqueue(s); indexed(s); return; }
+        var p = statements.get(INSERT_SQL);
+        p.setInt(1, s.getId()); p.setString(2, s.getName()); p.setInt(3, s.getAge()); p.setString(4, s.getGrade()); p.setString(5, s.getEmail());
+        p.executeUpdate();
+        cache.put(s);
+        indexed(s);
+    }
+
+    /** Updates every field of the student; returns false if no such id exists. */
+    public boolean update(Student s) throws SQLException {
+        if (writeBehind != null) {
+            if (!exists(s.getId())) return false;
+            enqueue(s);
+            indexed(s);
+            return true;
+        }
+        int rows;
+        try {
+            var p = statements.get(UPDATE_SQL);
+            p.setString(1, s.getName()); p.setInt(2, s.getAge()); p.setString(3, s.getGrade()); p.setString(4, s.getEmail()); p.setInt(5, s.getId());
+            rows = p.executeUpdate();
+        } catch (SQLException e) {
+            cache.remove(s.getId());
+            throw e;
+        }
+        if (rows > 0) { cache.put(s); indexed(s); } else cache.remove(s.getId());
+        return rows > 0;
+    }
+
+    /** Deletes the student; returns false if no such id exists. */
+    public boolean delete(int id) throws SQLException {
+        if (writeBehind != null) {
+            if (!exists(id)) return false;
+            try { writeBehind.delete(id); }
+            catch (java.io.IOException e) { throw new SQLException("Could not journal delete of student " + id, e); }
+            finally { cache.remove(id); }
+            if (fuzzy != null) fuzzy.remove(id);
+            return true;
+        }
+        try {
+            var p = statements.get(DELETE_SQL);
+            p.setInt(1, id);
+            boolean deleted = p.executeUpdate() > 0;
+            if (deleted && fuzzy != null) fuzzy.remove(id);
+            return deleted;
+        } finally {
+            cache.remove(id);
+        }
+    }
+
+    private void indexed(Student s) { if (fuzzy != null) fuzzy.put(s); }
+
+    private void enqueue(Student s) throws SQLException {
+        try { writeBehind.put(s); }
+        catch (java.io.IOException e) { throw new SQLException("Could not journal write of student " + s.getId(), e); }
+        cache.put(s);
+    }
+
+    @Override
+    public void close() { statements.close(); }
+}
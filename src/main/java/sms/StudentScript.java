@@ -0,0 +1,153 @@
+// StudentScript.java
+// Non-interactive batch mode: reads one operation per line in the CSV layout and writes one
+// JSON result line per operation, committing every linesPerTransaction operations.
+//   add,<id>,<name>,<age>,<grade>,<email>
+//   update,<id>,<name>,<age>,<grade>,<email>   (empty fields keep the current value)
+//   delete,<id>
+//   get,<id>
+// Lines starting with # are comments. Results look like
+//   {"line":3,"op":"get","id":7,"student":{...},"status":"ok"}
+// with status ok, not_found or error (plus an "error" message).
+
+package sms;
+
+import java.io.*;
+import java.sql.*;
+import java.util.List;
+
+public class StudentScript {
+    public static final int DEFAULT_LINES_PER_TRANSACTION = 1000;
+
+    private final StudentRepository repository;
+    private final int linesPerTransaction;
+    private final PrintStream out;
+    private final StringBuilder result = new StringBuilder(256);
+    private long ok, notFound, errors;
+    private PrintStream log = System.err;
+
+    public StudentScript(StudentRepository repository, int linesPerTransaction, PrintStream out) {
+        if (linesPerTransaction <= 0) throw new IllegalArgumentException("Lines per transaction must be positive.");
+        this.repository = repository; this.linesPerTransaction = linesPerTransaction; this.out = out;
+    }
+
+    public long getOk() { return ok; }
+    public long getNotFound() { return notFound; }
+    public long getErrors() { return errors; }
+    /** Where the summary is printed (System.err by default, keeping stdout machine-readable). */
+    public void setLog(PrintStream log) { this.log = log; }
+
+    /** Runs every operation in the input; a failed operation is reported and the script carries on. */
+    public void run(BufferedReader in) throws IOException, SQLException {
+        long start = System.nanoTime();
+        Connection conn = repository.getConnection();
+        boolean autoCommit = conn.getAutoCommit();
+        int pending = 0;
+        conn.setAutoCommit(false);
+        try {
+            CsvReader csv = new CsvReader(in);
+            while (csv.next()) {
+                List<String> f = csv.fields();
+                if (f.get(0).startsWith("#")) continue;
+                execute(csv.recordLine(), f);
+                if (++pending == linesPerTransaction) { conn.commit(); pending = 0; }
+            }
+            conn.commit();
+        } catch (IOException | SQLException | RuntimeException e) {
+            conn.rollback();
+            // Cached rows may hold writes that were just rolled back
+            repository.getCache().clear();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+            out.flush();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long ops = ok + notFound + errors;
+        log.printf("Ran %d operations (%d ok, %d not found, %d errors) in %.2fs, %.0f ops/sec.%n",
+                ops, ok, notFound, errors, seconds, seconds > 0 ? ops / seconds : ops);
+    }
+
+    private void execute(long line, List<String> f) {
+        String op = f.get(0).trim().toLowerCase();
+        Metrics metric = switch (op) {
+            case "add" -> Metrics.ADD;
+            case "update" -> Metrics.UPDATE;
+            case "delete" -> Metrics.DELETE;
+            case "get" -> Metrics.SEARCH_BY_ID;
+            default -> null;
+        };
+        result.setLength(0);
+        result.append("{\"line\":").append(line).append(",\"op\":");
+        Json.string(result, op);
+        if (metric == null) { error("unknown operation (expected add, update, delete or get)"); return; }
+        if (f.size() < 2) { error("missing id"); return; }
+        int id;
+        try { id = Integer.parseInt(f.get(1).trim()); } catch (NumberFormatException e) { error("invalid id '" + f.get(1) + "'"); return; }
+        result.append(",\"id\":").append(id);
+        long t = System.nanoTime(); boolean failed = false;
+        try {
+            switch (metric) {
+                case ADD -> {
+                    Student s = parse(id, f, null);
+                    if (s == null) return;
+                    if (repository.exists(id)) { error("student ID already exists"); return; }
+                    repository.add(s);
+                    status("ok");
+                }
+                case UPDATE -> {
+                    Student cur = repository.findById(id);
+                    if (cur == null) { status("not_found"); return; }
+                    Student s = parse(id, f, cur);
+                    if (s == null) return;
+                    status(repository.update(s) ? "ok" : "not_found");
+                }
+                case DELETE -> { if (f.size() != 2) { error("expected 2 fields but found " + f.size()); return; } status(repository.delete(id) ? "ok" : "not_found"); }
+                default -> {
+                    if (f.size() != 2) { error("expected 2 fields but found " + f.size()); return; }
+                    Student s = repository.findById(id);
+                    if (s == null) { status("not_found"); return; }
+                    Json.student(result.append(",\"student\":"), s);
+                    status("ok");
+                }
+            }
+        } catch (SQLException e) {
+            // A failed statement (e.g. a duplicate email) is undone on its own; the transaction stays open
+            failed = true;
+            error(e.getMessage());
+        } finally {
+            metric.record(t, !failed);
+        }
+    }
+
+    // Builds the student from add/update fields; for updates, empty fields fall back to cur. Reports and returns null if invalid.
+    private Student parse(int id, List<String> f, Student cur) {
+        if (f.size() != 6) { error("expected 6 fields but found " + f.size()); return null; }
+        String name = f.get(2).trim(), ageText = f.get(3).trim(), grade = f.get(4).trim(), email = f.get(5).trim();
+        int age;
+        if (cur != null && ageText.isEmpty()) age = cur.getAge();
+        else {
+            try { age = Integer.parseInt(ageText); } catch (NumberFormatException e) { error("invalid age '" + f.get(3) + "'"); return null; }
+        }
+        if (cur != null) {
+            if (name.isEmpty()) name = cur.getName();
+            if (grade.isEmpty()) grade = cur.getGrade();
+            if (email.isEmpty()) email = cur.getEmail();
+        }
+        Student s = new Student(id, name, age, grade, email);
+        String error = s.validate();
+        if (error != null) { error(error); return null; }
+        return s;
+    }
+
+    private void status(String status) {
+        if (status.equals("ok")) ok++; else notFound++;
+        Json.string(result.append(",\"status\":"), status);
+        out.append(result).append('}').println();
+    }
+
+    private void error(String message) {
+        errors++;
+        Json.string(result.append(",\"status\":\"error\",\"error\":"), message);
+        out.append(result).append('}').println();
+    }
+}
@@ -0,0 +1,62 @@
+// StudentSearch.java
+// Multi-field search filters. Each one is served by an index created in
+// createStudentTable() and results are streamed through StudentPager in that
+// index's order, so paging never sorts.
+
+package sms;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+public enum StudentSearch {
+    // LIKE with a literal prefix can use the NOCASE name index (case-insensitive match)
+    NAME_PREFIX("name prefix", StudentPager.Order.NAME, "name LIKE ? ESCAPE '\\'"),
+    EMAIL("email", StudentPager.Order.ID, "email = ?"),
+    // The grade index is (grade, id), so id order is already index order
+    GRADE("grade", StudentPager.Order.ID, "grade = ?"),
+    AGE_RANGE("age range", StudentPager.Order.AGE, "age BETWEEN ? AND ?");
+
+    private final String label;
+    private final StudentPager.Order order;
+    private final String where;
+
+    StudentSearch(String label, StudentPager.Order order, String where) { this.label = label; this.order = order; this.where = where; }
+
+    public String getLabel() { return label; }
+
+    /** Opens a pager over the matching students; params are the raw search values (prefix, email, grade or min/max age). */
+    public StudentPager open(Connection conn, int pageSize, Object... params) throws SQLException {
+        return new StudentPager(conn, pageSize, order, where, bind(params));
+    }
+
+    /** Runs EXPLAIN QUERY PLAN on the first-page query and returns one line per plan step. */
+    public List<String> explain(Connection conn, Object... params) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (var p = conn.prepareStatement("EXPLAIN QUERY PLAN " + StudentPager.query(order, where, false))) {
+            int i = 1;
+            for (Object param : bind(params)) p.setObject(i++, param);
+            if (order != StudentPager.Order.ID) p.setObject(i++, order.lowest());
+            p.setInt(i++, Integer.MIN_VALUE);
+            p.setInt(i, StudentPager.DEFAULT_PAGE_SIZE + 1);
+            try (var rs = p.executeQuery()) { while (rs.next()) plan.add(rs.getString("detail")); }
+        }
+        return plan;
+    }
+
+    private Object[] bind(Object[] params) {
+        if (this != NAME_PREFIX) return params;
+        return new Object[] { likePrefix((String) params[0]) };
+    }
+
+    // Escapes LIKE wildcards so the prefix is matched literally
+    static String likePrefix(String prefix) {
+        StringBuilder sb = new StringBuilder(prefix.length() + 2);
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') sb.append('\\');
+            sb.append(c);
+        }
+        return sb.append('%').toString();
+    }
+}
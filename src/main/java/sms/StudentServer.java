@@ -0,0 +1,234 @@
+// StudentServer.java
+// Headless mode: the add/search/update/delete/list operations as a local HTTP/JSON API.
+//   GET    /students?after=<id>&limit=<n>[&name=|&email=|&grade=|&minAge=&maxAge=]  list (keyset paged)
+//   GET    /students/<id>     look up one student
+//   POST   /students          add a student   {"id":1,"name":"Ann","age":20,"grade":"A","email":"ann@x.org"}
+//   PUT    /students/<id>     update the given fields
+//   DELETE /students/<id>     delete a student
+// Requests run on virtual threads when the JVM supports them (Java 21+), otherwise on a
+// bounded platform thread pool; database access goes through a RepositoryPool, with
+// writes queued behind a journal when -Dsms.writeBehind=true.
+
+package sms;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class StudentServer {
+    private static final Logger log = LoggerFactory.getLogger(StudentServer.class);
+    public static final int DEFAULT_PORT = 8080;
+    private static final int MAX_BODY_BYTES = 64 * 1024;
+    private static final int PLATFORM_THREADS = 64;
+
+    private final RepositoryPool pool;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public StudentServer(RepositoryPool pool, int port) throws IOException {
+        this.pool = pool;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+        this.executor = newExecutor();
+        server.setExecutor(executor);
+        server.createContext("/students", this::handle);
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() is looked up reflectively so the build still targets Java 17
+    private static ExecutorService newExecutor() {
+        try { return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null); }
+        catch (ReflectiveOperationException e) { return Executors.newFixedThreadPool(PLATFORM_THREADS); }
+    }
+
+    public void start() {
+        server.start();
+        System.out.println("Serving students API on http://127.0.0.1:" + server.getAddress().getPort() + "/students");
+    }
+
+    public void stop() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    /** Starts a server and blocks until the JVM is asked to shut down. */
+    public static void run(ConnectionFactory factory, int port, int readers, StudentCache cache) throws Exception {
+        CountDownLatch stopped = new CountDownLatch(1), closed = new CountDownLatch(1);
+        try (RepositoryPool pool = new RepositoryPool(factory, readers, cache)) {
+            pool.setWriteBehind(WriteBehindQueue.fromSystemProperties(factory, cache));
+            StudentServer s = new StudentServer(pool, port);
+            // The JVM halts once the hooks return, so the hook waits for the pool's final write-behind flush
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                s.stop();
+                stopped.countDown();
+                try { closed.await(); } catch (InterruptedException e) { Thread.currentThread().interrupt(); }
+            }));
+            s.start();
+            stopped.await();
+        } finally {
+            closed.countDown();
+        }
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        Metrics metric = null;
+        long t = System.nanoTime();
+        boolean ok = false;
+        try {
+            String path = ex.getRequestURI().getPath();
+            if (!path.equals("/students") && !path.startsWith("/students/")) { send(ex, 404, Json.error("Not found")); return; }
+            String rest = path.length() > "/students".length() ? path.substring("/students/".length()) : "";
+            String method = ex.getRequestMethod();
+            if (rest.isEmpty()) {
+                switch (method) {
+                    case "GET" -> { metric = ex.getRequestURI().getRawQuery() == null ? Metrics.VIEW : Metrics.SEARCH; list(ex); }
+                    case "POST" -> { metric = Metrics.ADD; add(ex); }
+                    default -> send(ex, 405, Json.error("Method not allowed"));
+                }
+                ok = true;
+                return;
+            }
+            int id;
+            try { id = Integer.parseInt(rest); } catch (NumberFormatException e) { send(ex, 404, Json.error("Not found")); return; }
+            switch (method) {
+                case "GET" -> { metric = Metrics.SEARCH_BY_ID; get(ex, id); }
+                case "PUT" -> { metric = Metrics.UPDATE; update(ex, id); }
+                case "DELETE" -> { metric = Metrics.DELETE; delete(ex, id); }
+                default -> send(ex, 405, Json.error("Method not allowed"));
+            }
+            ok = true;
+        } catch (IllegalArgumentException e) {
+            ok = true; // client error
+            send(ex, 400, Json.error(e.getMessage()));
+        } catch (SQLTimeoutException e) {
+            log.warn("{} {} timed out", ex.getRequestMethod(), ex.getRequestURI(), e);
+            send(ex, 503, Json.error(e.getMessage()));
+        } catch (SQLException e) {
+            // e.g. a duplicate email
+            if (ConnectionFactory.isConstraintViolation(e)) { ok = true; send(ex, 409, Json.error(e.getMessage())); return; }
+            log.warn("{} {} failed", ex.getRequestMethod(), ex.getRequestURI(), e);
+            send(ex, 500, Json.error("Database error: " + e.getMessage()));
+        } finally {
+            if (metric != null) metric.record(t, ok);
+            ex.close();
+        }
+    }
+
+    private void get(HttpExchange ex, int id) throws IOException, SQLException {
+        Student s = pool.read(r -> r.findById(id));
+        if (s == null) send(ex, 404, Json.error("Student with ID " + id + " not found."));
+        else send(ex, 200, Json.student(new StringBuilder(), s).toString());
+    }
+
+    private void list(HttpExchange ex) throws IOException, SQLException {
+        Map<String, String> q = query(ex);
+        int after = intParam(q, "after", 0);
+        int limit = Math.min(intParam(q, "limit", StudentPager.DEFAULT_PAGE_SIZE), StudentPager.MAX_PAGE_SIZE);
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive");
+        pool.flush(); // lists run on a reader connection, which cannot see queued writes
+        String body = pool.read(r -> {
+            try (StudentPager pager = openPager(r.getConnection(), limit, q)) {
+                StringBuilder sb = new StringBuilder("{\"students\":[");
+                if (q.containsKey("after") ? pager.from(after) : pager.first()) {
+                    for (int i = 0; i < pager.getRowCount(); i++) { if (i > 0) sb.append(','); Json.student(sb, pager.get(i)); }
+                }
+                sb.append("],\"next\":");
+                if (pager.hasNext()) sb.append(pager.get(pager.getRowCount() - 1).getId()); else sb.append("null");
+                return sb.append('}').toString();
+            }
+        });
+        send(ex, 200, body);
+    }
+
+    private static StudentPager openPager(Connection conn, int limit, Map<String, String> q) throws SQLException {
+        if (q.containsKey("name")) return StudentSearch.NAME_PREFIX.open(conn, limit, q.get("name"));
+        if (q.containsKey("email")) return StudentSearch.EMAIL.open(conn, limit, q.get("email"));
+        if (q.containsKey("grade")) return StudentSearch.GRADE.open(conn, limit, q.get("grade"));
+        if (q.containsKey("minAge") || q.containsKey("maxAge"))
+            return StudentSearch.AGE_RANGE.open(conn, limit, intParam(q, "minAge", 0), intParam(q, "maxAge", Integer.MAX_VALUE));
+        return new StudentPager(conn, limit);
+    }
+
+    private void add(HttpExchange ex) throws IOException, SQLException {
+        Map<String, String> f = Json.parseObject(body(ex));
+        Student s = new Student(intField(f, "id"), f.get("name"), intField(f, "age"), f.get("grade"), f.get("email"));
+        String error = s.validate();
+        if (error != null) { send(ex, 400, Json.error(error)); return; }
+        boolean added = pool.write(r -> {
+            if (r.exists(s.getId())) return false;
+            r.add(s);
+            return true;
+        });
+        if (added) send(ex, 201, Json.student(new StringBuilder(), s).toString());
+        else send(ex, 409, Json.error("A student with ID " + s.getId() + " already exists."));
+    }
+
+    private void update(HttpExchange ex, int id) throws IOException, SQLException {
+        Map<String, String> f = Json.parseObject(body(ex));
+        Student updated = pool.write(r -> {
+            Student cur = r.findById(id);
+            if (cur == null) return null;
+            Student s = new Student(id, f.getOrDefault("name", cur.getName()), f.containsKey("age") ? intField(f, "age") : cur.getAge(),
+                    f.getOrDefault("grade", cur.getGrade()), f.getOrDefault("email", cur.getEmail()));
+            String error = s.validate();
+            if (error != null) throw new IllegalArgumentException(error);
+            return r.update(s) ? s : null;
+        });
+        if (updated == null) send(ex, 404, Json.error("Student with ID " + id + " not found."));
+        else send(ex, 200, Json.student(new StringBuilder(), updated).toString());
+    }
+
+    private void delete(HttpExchange ex, int id) throws IOException, SQLException {
+        if (pool.write(r -> r.delete(id))) send(ex, 204, null);
+        else send(ex, 404, Json.error("Student with ID " + id + " not found."));
+    }
+
+    private static String body(HttpExchange ex) throws IOException {
+        try (InputStream in = ex.getRequestBody()) {
+            byte[] b = in.readNBytes(MAX_BODY_BYTES + 1);
+            if (b.length > MAX_BODY_BYTES) throw new IllegalArgumentException("Request body too large");
+            return new String(b, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> query(HttpExchange ex) {
+        Map<String, String> q = new HashMap<>();
+        String raw = ex.getRequestURI().getRawQuery();
+        if (raw == null) return q;
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) q.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8), URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return q;
+    }
+
+    private static int intParam(Map<String, String> q, String name, int def) {
+        String v = q.get(name);
+        if (v == null || v.isEmpty()) return def;
+        try { return Integer.parseInt(v); } catch (NumberFormatException e) { throw new IllegalArgumentException(name + " must be an integer"); }
+    }
+
+    private static int intField(Map<String, String> f, String name) {
+        String v = f.get(name);
+        if (v == null) throw new IllegalArgumentException("Missing field: " + name);
+        try { return Integer.parseInt(v); } catch (NumberFormatException e) { throw new IllegalArgumentException(name + " must be an integer"); }
+    }
+
+    private static void send(HttpExchange ex, int status, String json) throws IOException {
+        if (json == null) { ex.sendResponseHeaders(status, -1); return; }
+        byte[] b = json.getBytes(StandardCharsets.UTF_8);
+        ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        ex.sendResponseHeaders(status, b.length);
+        ex.getResponseBody().write(b);
+    }
+}
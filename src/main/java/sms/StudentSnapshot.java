@@ -0,0 +1,235 @@
+// StudentSnapshot.java
+// Read-only columnar copy of the students table in one file, opened with a MappedByteBuffer.
+// Layout (little-endian, sections 4-byte aligned):
+//   header   magic "SMS1", version, rows, distinct grades
+//   ids      int[rows], ascending, so lookups are a binary search
+//   ages     byte[rows]
+//   grades   short[rows], index into the grade dictionary
+//   names    int[rows + 1] start offsets into the string heap
+//   emails   int[rows + 1]
+//   dict     int[grades + 1] offsets of the grade strings
+//   heap     UTF-8 bytes
+// Accessors take a row index and read straight from the mapping; only name()/email()
+// decode a String, so scans over ids, ages and grades allocate nothing per row.
+
+package sms;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public final class StudentSnapshot {
+    public static final String DEFAULT_FILE = "students.snap";
+    private static final int MAGIC = 0x31534D53; // "SMS1"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+
+    private final int rows;
+    private final IntBuffer ids, nameOffsets, emailOffsets;
+    private final ByteBuffer ages, heap;
+    private final ShortBuffer grades;
+    private final String[] dictionary;
+
+    private StudentSnapshot(ByteBuffer b) throws IOException {
+        b.order(ByteOrder.LITTLE_ENDIAN);
+        if (b.capacity() < HEADER_BYTES || b.getInt(0) != MAGIC) throw new IOException("Not a student snapshot file");
+        if (b.getInt(4) != VERSION) throw new IOException("Unsupported snapshot version " + b.getInt(4));
+        rows = b.getInt(8);
+        int gradeCount = b.getInt(12);
+        int pos = HEADER_BYTES;
+        try {
+            ids = slice(b, pos, 4 * rows).asIntBuffer(); pos += 4 * rows;
+            ages = slice(b, pos, rows); pos += align(rows);
+            grades = slice(b, pos, 2 * rows).asShortBuffer(); pos += align(2 * rows);
+            nameOffsets = slice(b, pos, 4 * (rows + 1)).asIntBuffer(); pos += 4 * (rows + 1);
+            emailOffsets = slice(b, pos, 4 * (rows + 1)).asIntBuffer(); pos += 4 * (rows + 1);
+            IntBuffer dict = slice(b, pos, 4 * (gradeCount + 1)).asIntBuffer(); pos += 4 * (gradeCount + 1);
+            heap = slice(b, pos, b.capacity() - pos);
+            dictionary = new String[gradeCount];
+            for (int i = 0; i < gradeCount; i++) dictionary[i] = decode(dict.get(i), dict.get(i + 1));
+        } catch (IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Truncated or corrupt snapshot file", e);
+        }
+    }
+
+    private static ByteBuffer slice(ByteBuffer b, int pos, int len) { return b.slice(pos, len).order(ByteOrder.LITTLE_ENDIAN); }
+    private static int align(int n) { return (n + 3) & ~3; }
+
+    /** Maps a snapshot file read-only. */
+    public static StudentSnapshot open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (ch.size() > Integer.MAX_VALUE) throw new IOException("Snapshot larger than 2 GB: " + file);
+            return new StudentSnapshot(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    public int size() { return rows; }
+
+    /** Row holding the given id, or a negative value if there is none. */
+    public int indexOf(int id) {
+        int lo = 0, hi = rows - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1, v = ids.get(mid);
+            if (v < id) lo = mid + 1; else if (v > id) hi = mid - 1; else return mid;
+        }
+        return -(lo + 1);
+    }
+
+    public int id(int row) { return ids.get(row); }
+    public int age(int row) { return ages.get(row) & 0xFF; }
+    public int gradeCode(int row) { return grades.get(row); }
+    public String grade(int row) { return dictionary[grades.get(row)]; }
+    public String name(int row) { return decode(nameOffsets.get(row), nameOffsets.get(row + 1)); }
+    public String email(int row) { return decode(emailOffsets.get(row), emailOffsets.get(row + 1)); }
+
+    /** Dictionary code of a grade, or -1 if no student has it; compare with gradeCode(row) in scans. */
+    public int gradeCode(String grade) {
+        for (int i = 0; i < dictionary.length; i++) if (dictionary[i].equals(grade)) return i;
+        return -1;
+    }
+
+    /**
+     * True if the row's name starts with the given UTF-8 bytes, compared in place and ignoring
+     * ASCII case like the NOCASE name index; pass the prefix through lowerAscii() first.
+     */
+    public boolean nameStartsWith(int row, byte[] prefix) {
+        int start = nameOffsets.get(row);
+        if (nameOffsets.get(row + 1) - start < prefix.length) return false;
+        for (int i = 0; i < prefix.length; i++) if (lowerAscii(heap.get(start + i)) != prefix[i]) return false;
+        return true;
+    }
+
+    /** UTF-8 bytes of a name prefix in the form nameStartsWith() expects. */
+    public static byte[] namePrefix(String prefix) {
+        byte[] b = prefix.getBytes(StandardCharsets.UTF_8);
+        for (int i = 0; i < b.length; i++) b[i] = lowerAscii(b[i]);
+        return b;
+    }
+
+    private static byte lowerAscii(byte b) { return b >= 'A' && b <= 'Z' ? (byte) (b + 32) : b; }
+
+    public Student getStudent(int row) { return new Student(id(row), name(row), age(row), grade(row), email(row)); }
+
+    /** The student with the given id, or null. */
+    public Student findById(int id) {
+        int row = indexOf(id);
+        return row < 0 ? null : getStudent(row);
+    }
+
+    /** Writes rows [from, from + count) in the same layout as StudentPager and flushes once. */
+    public void print(PrintWriter out, int from, int count) {
+        int end = Math.min(rows, from + count);
+        for (int r = from; r < end; r++) {
+            out.append("ID: ").append(Integer.toString(id(r))).append(", Name: ").append(name(r))
+               .append(", Age: ").append(Integer.toString(age(r))).append(", Grade: ").append(grade(r))
+               .append(", Email: ").append(email(r)).append('\n');
+        }
+        out.append("-- Page ").append(Integer.toString(from / count + 1)).append(" of ").append(Integer.toString(Math.max(1, (rows + count - 1) / count)))
+           .append(" (rows ").append(Integer.toString(from + 1)).append('-').append(Integer.toString(end)).append(") --\n");
+        out.flush();
+    }
+
+    private String decode(int from, int to) {
+        byte[] b = new byte[to - from];
+        heap.get(from, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes every student to file (via a temporary file and an atomic rename) from one
+     * consistent read transaction. Returns the number of rows written.
+     */
+    public static int write(Connection conn, Path file) throws SQLException, IOException {
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (Statement st = conn.createStatement()) {
+            int rows;
+            try (ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM students")) { rs.next(); rows = rs.getInt(1); }
+            int[] ids = new int[rows], names = new int[rows + 1], emails = new int[rows + 1];
+            byte[] ages = new byte[rows];
+            short[] grades = new short[rows];
+            Map<String, Integer> codes = new HashMap<>();
+            Heap nameHeap = new Heap(), emailHeap = new Heap();
+            st.setFetchSize(StudentExporter.FETCH_SIZE);
+            int row = 0;
+            try (ResultSet rs = st.executeQuery("SELECT id,name,age,grade,email FROM students ORDER BY id")) {
+                for (; rs.next(); row++) {
+                    if (row == rows) throw new SQLException("Row count changed while writing the snapshot");
+                    ids[row] = rs.getInt(1);
+                    int age = rs.getInt(3);
+                    if (age < 0 || age > 255) throw new IOException("Student " + ids[row] + " has age " + age + ", which does not fit the snapshot");
+                    ages[row] = (byte) age;
+                    int code = codes.computeIfAbsent(rs.getString(4), g -> codes.size());
+                    if (code > Short.MAX_VALUE) throw new IOException("Too many distinct grades for a snapshot");
+                    grades[row] = (short) code;
+                    names[row] = nameHeap.add(rs.getString(2));
+                    emails[row] = emailHeap.add(rs.getString(5));
+                }
+            }
+            if (row != rows) throw new SQLException("Row count changed while writing the snapshot");
+            names[rows] = nameHeap.size;
+            emails[rows] = emailHeap.size;
+            // Heap order: names, then emails, then the grade dictionary
+            for (int i = 0; i <= rows; i++) emails[i] += nameHeap.size;
+            String[] dictionary = new String[codes.size()];
+            codes.forEach((g, c) -> dictionary[c] = g);
+            Heap dictHeap = new Heap();
+            int[] dict = new int[dictionary.length + 1];
+            int dictBase = nameHeap.size + emailHeap.size;
+            for (int i = 0; i < dictionary.length; i++) dict[i] = dictBase + dictHeap.add(dictionary[i]);
+            dict[dictionary.length] = dictBase + dictHeap.size;
+            if ((long) dictBase + dictHeap.size + HEADER_BYTES + 14L * rows + 8L * dictionary.length > Integer.MAX_VALUE)
+                throw new IOException("Snapshot would exceed 2 GB");
+
+            long headerAndColumns = HEADER_BYTES + 4L * rows + align(rows) + align(2 * rows) + 8L * (rows + 1) + 4L * dict.length;
+            ByteBuffer b = ByteBuffer.allocate((int) headerAndColumns).order(ByteOrder.LITTLE_ENDIAN);
+            b.putInt(MAGIC).putInt(VERSION).putInt(rows).putInt(dictionary.length);
+            b.asIntBuffer().put(ids); b.position(b.position() + 4 * rows);
+            b.put(ages); b.position(b.position() + align(rows) - rows);
+            b.asShortBuffer().put(grades); b.position(b.position() + align(2 * rows));
+            b.asIntBuffer().put(names); b.position(b.position() + 4 * (rows + 1));
+            b.asIntBuffer().put(emails); b.position(b.position() + 4 * (rows + 1));
+            b.asIntBuffer().put(dict); b.position(b.position() + 4 * dict.length);
+            b.flip();
+
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                for (ByteBuffer part : new ByteBuffer[] { b, nameHeap.buffer(), emailHeap.buffer(), dictHeap.buffer() })
+                    while (part.hasRemaining()) ch.write(part);
+                ch.force(true);
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            conn.commit();
+            return rows;
+        } catch (SQLException | IOException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+    }
+
+    // Growable UTF-8 byte buffer; add() returns the start offset of the string
+    private static final class Heap {
+        private byte[] bytes = new byte[1 << 16];
+        private int size;
+
+        int add(String s) {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            if (size + b.length > bytes.length) bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + b.length));
+            System.arraycopy(b, 0, bytes, size, b.length);
+            int start = size;
+            size += b.length;
+            return start;
+        }
+
+        ByteBuffer buffer() { return ByteBuffer.wrap(bytes, 0, size); }
+    }
+}
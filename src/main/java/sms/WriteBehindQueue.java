@@ -0,0 +1,314 @@
+// WriteBehindQueue.java
+// Optional write-behind mode for StudentRepository. Mutations are appended to a durable
+// journal (group-committed: a write returns once an fsync covering its line has finished,
+// and writers arriving together share one fsync), kept in memory with repeated writes to
+// the same id coalesced, and applied to the database in a single transaction once
+// maxPending ids are queued or flushMillis have passed. On startup replay() re-applies whatever a
+// crash left in the journal; every journal entry is idempotent (upsert or delete by id).
+// Flushes run on the queue's own connection, never inside a transaction a caller has open,
+// and the journal is locked so a second process cannot share (and truncate) it.
+
+package sms;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class WriteBehindQueue implements AutoCloseable {
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindQueue.class);
+    public static final String DEFAULT_JOURNAL = "students.journal";
+    public static final int DEFAULT_MAX_PENDING = 500;
+    public static final long DEFAULT_FLUSH_MILLIS = 1000;
+    /** Marker returned by pending(id) for a queued delete. */
+    public static final Student DELETED = new Student(0, null, 0, null, null);
+
+    // Upserts carry a version reserved for the whole flush, so the change-tracking triggers skip them
+    private static final String UPSERT_SQL = "INSERT INTO students (id,name,age,grade,email,version) VALUES (?,?,?,?,?,?) "
+            + "ON CONFLICT(id) DO UPDATE SET name=excluded.name, age=excluded.age, grade=excluded.grade, email=excluded.email, version=excluded.version";
+    private static final String DELETE_SQL = "DELETE FROM students WHERE id=?";
+
+    private final Connection conn;
+    private final StudentCache cache;
+    private final FileChannel journal;
+    private final int maxPending;
+    // Latest state per id in arrival order: the student to upsert, or DELETED
+    private final Map<Integer, Student> pending = new LinkedHashMap<>();
+    private final ScheduledExecutorService flusher;
+    private final long retryNanos;
+    private final List<String> rejected = new ArrayList<>();
+    private long queued, coalesced, flushes, failed, retryAt;
+    // Journal group commit: lines appended (guarded by this) and lines known to be on disk (guarded by syncLock)
+    private final Object syncLock = new Object();
+    private long written, synced;
+    private boolean syncing;
+
+    public WriteBehindQueue(ConnectionFactory factory, StudentCache cache, Path journalFile, int maxPending, long flushMillis) throws IOException, SQLException {
+        if (maxPending <= 0) throw new IllegalArgumentException("maxPending must be positive.");
+        this.cache = cache; this.maxPending = maxPending;
+        this.retryNanos = TimeUnit.MILLISECONDS.toNanos(flushMillis);
+        this.journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        try {
+            if (journal.tryLock() == null) throw new IOException("Journal " + journalFile + " is in use by another process");
+            this.conn = factory.open();
+        } catch (IOException | SQLException | RuntimeException e) {
+            journal.close();
+            throw e;
+        }
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "write-behind-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flushQuietly, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /** Queue configured by -Dsms.writeBehind.journal, .maxPending and .flushMillis, or null unless -Dsms.writeBehind=true. */
+    public static WriteBehindQueue fromSystemProperties(ConnectionFactory factory, StudentCache cache) throws IOException, SQLException {
+        if (!Boolean.getBoolean("sms.writeBehind")) return null;
+        return new WriteBehindQueue(factory, cache, journalPath(), Integer.getInteger("sms.writeBehind.maxPending", DEFAULT_MAX_PENDING),
+                Long.getLong("sms.writeBehind.flushMillis", DEFAULT_FLUSH_MILLIS));
+    }
+
+    public static Path journalPath() { return Paths.get(System.getProperty("sms.writeBehind.journal", DEFAULT_JOURNAL)); }
+
+    /** Queued state for id: a student, DELETED, or null if nothing is pending. */
+    public synchronized Student pending(int id) { return pending.get(id); }
+
+    public synchronized boolean hasPending() { return !pending.isEmpty(); }
+
+    public void put(Student s) throws IOException { enqueue(s.getId(), s); }
+
+    public void delete(int id) throws IOException { enqueue(id, DELETED); }
+
+    private void enqueue(int id, Student state) throws IOException {
+        boolean full;
+        long line;
+        synchronized (this) {
+            append(id, state);
+            line = ++written;
+            queued++;
+            if (pending.remove(id) != null) coalesced++;
+            pending.put(id, state);
+            // After a failed flush only the timer retries, so writers are not stalled on a busy database
+            full = pending.size() >= maxPending && (retryAt == 0 || System.nanoTime() - retryAt >= 0);
+        }
+        sync(line);
+        if (full) flushQuietly();
+    }
+
+    /**
+     * Returns once journal line `line` is on disk. The first waiter forces the journal outside the queue lock,
+     * covering every line appended so far; writers that arrive meanwhile wait for it or the next one.
+     */
+    private void sync(long line) throws IOException {
+        synchronized (syncLock) {
+            while (synced < line && syncing) {
+                try { syncLock.wait(); }
+                catch (InterruptedException e) { Thread.currentThread().interrupt(); throw new InterruptedIOException("Interrupted waiting for journal fsync"); }
+            }
+            if (synced >= line) return;
+            syncing = true;
+        }
+        long upTo = line;
+        boolean ok = false;
+        try {
+            synchronized (this) { upTo = written; }
+            journal.force(false);
+            ok = true;
+        } finally {
+            synchronized (syncLock) {
+                syncing = false;
+                if (ok) synced = Math.max(synced, upTo);
+                syncLock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Applies all pending mutations in one transaction and truncates the journal. Only a write the
+     * database rejects outright (a constraint violation such as a duplicate email) is dropped; on any
+     * other error (busy, locked, I/O) the unapplied writes stay queued and journaled and the error is rethrown.
+     */
+    public synchronized void flush() throws SQLException, IOException {
+        if (pending.isEmpty()) return;
+        List<Map.Entry<Integer, Student>> batch = new ArrayList<>(pending.entrySet());
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (var upsert = conn.prepareStatement(UPSERT_SQL); var delete = conn.prepareStatement(DELETE_SQL)) {
+            try {
+                long version = ChangeFeed.reserve(conn, batch.size());
+                for (Map.Entry<Integer, Student> e : batch) apply(upsert, delete, e.getKey(), e.getValue(), version++);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                if (!ConnectionFactory.isConstraintViolation(e)) throw e;
+                // One bad row must not sink the rest: retry one at a time
+                log.warn("Write-behind batch of {} failed, applying individually", batch.size(), e);
+                // Committed on its own so a row that fails first cannot roll the reservation back
+                long version = ChangeFeed.reserve(conn, batch.size());
+                conn.commit();
+                for (Map.Entry<Integer, Student> entry : batch) {
+                    try { apply(upsert, delete, entry.getKey(), entry.getValue(), version++); conn.commit(); }
+                    catch (SQLException ex) {
+                        conn.rollback();
+                        if (!ConnectionFactory.isConstraintViolation(ex)) throw ex; // entries not yet applied stay pending; replaying applied ones is harmless
+                        reject(entry.getKey(), ex);
+                    }
+                    pending.remove(entry.getKey());
+                }
+            }
+        } catch (SQLException e) {
+            retryAt = System.nanoTime() + retryNanos;
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        pending.clear();
+        flushes++;
+        retryAt = 0;
+        journal.truncate(0);
+        journal.force(true);
+        // Everything journaled so far is now in the database, so writers still waiting on an fsync can return
+        synchronized (syncLock) { synced = Math.max(synced, written); syncLock.notifyAll(); }
+    }
+
+    private void reject(int id, SQLException e) {
+        failed++;
+        cache.remove(id);
+        rejected.add("student " + id + ": " + e.getMessage());
+        log.error("Dropping queued write for student {}: {}", id, e.getMessage());
+    }
+
+    /** Describes the queued writes the database rejected since the last call, so they can be reported to the user. */
+    public synchronized List<String> takeRejected() {
+        List<String> r = new ArrayList<>(rejected);
+        rejected.clear();
+        return r;
+    }
+
+    // Deletes are versioned by their trigger, which also records the tombstone
+    private static void apply(PreparedStatement upsert, PreparedStatement delete, int id, Student s, long version) throws SQLException {
+        if (s == DELETED) { delete.setInt(1, id); delete.executeUpdate(); return; }
+        upsert.setInt(1, id); upsert.setString(2, s.getName()); upsert.setInt(3, s.getAge()); upsert.setString(4, s.getGrade()); upsert.setString(5, s.getEmail());
+        upsert.setLong(6, version);
+        upsert.executeUpdate();
+    }
+
+    private void flushQuietly() {
+        try { flush(); } catch (Exception e) { log.error("Write-behind flush failed; mutations stay queued and journaled", e); }
+    }
+
+    public synchronized String stats() {
+        return String.format("Write-behind: %d pending, %d queued, %d coalesced, %d flushes, %d failed", pending.size(), queued, coalesced, flushes, failed);
+    }
+
+    @Override
+    public void close() throws SQLException, IOException {
+        flusher.shutdownNow();
+        try { flush(); } finally { try { conn.close(); } finally { journal.close(); } }
+    }
+
+    // Journal line: "P\tid\tname\tage\tgrade\temail\n" or "D\tid\n", with \\, \t, \n and \r escaped
+    private void append(int id, Student s) throws IOException {
+        StringBuilder sb = new StringBuilder(64);
+        if (s == DELETED) sb.append("D\t").append(id);
+        else {
+            sb.append("P\t").append(id).append('\t');
+            escape(sb, s.getName()).append('\t').append(s.getAge()).append('\t');
+            escape(sb, s.getGrade()).append('\t');
+            escape(sb, s.getEmail());
+        }
+        ByteBuffer b = StandardCharsets.UTF_8.encode(sb.append('\n').toString());
+        while (b.hasRemaining()) journal.write(b);
+    }
+
+    private static StringBuilder escape(StringBuilder sb, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '\\' -> sb.append("\\\\");
+                case '\t' -> sb.append("\\t");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                default -> sb.append(c);
+            }
+        }
+        return sb;
+    }
+
+    private static String unescape(String s) {
+        if (s.indexOf('\\') < 0) return s;
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c != '\\' || i + 1 == s.length()) { sb.append(c); continue; }
+            char e = s.charAt(++i);
+            sb.append(e == 't' ? '\t' : e == 'n' ? '\n' : e == 'r' ? '\r' : e);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Re-applies a journal left behind by a crash in one transaction, then empties it.
+     * A trailing line without its newline was never acknowledged and is skipped. Returns the entries applied.
+     */
+    public static int replay(Connection conn, Path journalFile) throws IOException, SQLException {
+        if (!Files.exists(journalFile) || Files.size(journalFile) == 0) return 0;
+        try (FileChannel ch = FileChannel.open(journalFile, StandardOpenOption.READ, StandardOpenOption.WRITE); FileLock lock = ch.tryLock()) {
+            // Another process has write-behind on: the journal is live, not left over from a crash
+            if (lock == null) { log.warn("Journal {} is in use by another process; not replaying it", journalFile); return 0; }
+            ByteBuffer b = ByteBuffer.allocate((int) ch.size());
+            while (b.hasRemaining() && ch.read(b) >= 0) { }
+            String text = new String(b.array(), 0, b.position(), StandardCharsets.UTF_8);
+            int applied = apply(conn, text.substring(0, text.lastIndexOf('\n') + 1));
+            ch.truncate(0);
+            ch.force(true);
+            return applied;
+        }
+    }
+
+    private static int apply(Connection conn, String text) throws IOException, SQLException {
+        int applied = 0;
+        boolean autoCommit = conn.getAutoCommit();
+        conn.setAutoCommit(false);
+        try (var upsert = conn.prepareStatement(UPSERT_SQL); var delete = conn.prepareStatement(DELETE_SQL);
+             BufferedReader lines = new BufferedReader(new java.io.StringReader(text))) {
+            long version = ChangeFeed.reserve(conn, Math.max(1, (int) text.chars().filter(c -> c == '\n').count()));
+            for (String line; (line = lines.readLine()) != null; version++) {
+                String[] f = line.split("\t", -1);
+                try {
+                    if (f[0].equals("D") && f.length == 2) apply(upsert, delete, Integer.parseInt(f[1]), DELETED, version);
+                    else if (f[0].equals("P") && f.length == 6) {
+                        int id = Integer.parseInt(f[1]);
+                        apply(upsert, delete, id, new Student(id, unescape(f[2]), Integer.parseInt(f[3]), unescape(f[4]), unescape(f[5])), version);
+                    } else { log.warn("Skipping malformed journal line: {}", line); continue; }
+                    applied++;
+                } catch (SQLException e) {
+                    log.error("Skipping journal entry that cannot be applied: {} ({})", line, e.getMessage());
+                }
+            }
+            conn.commit();
+        } catch (SQLException | IOException | RuntimeException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(autoCommit);
+        }
+        return applied;
+    }
+}
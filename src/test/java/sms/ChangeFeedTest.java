@@ -0,0 +1,91 @@
+package sms;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.*;
+import java.sql.*;
+import java.util.List;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+class ChangeFeedTest {
+    @TempDir Path dir;
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite:" + dir.resolve("students.db"));
+        try (Statement s = conn.createStatement()) {
+            s.execute("CREATE TABLE students (id INTEGER PRIMARY KEY, name TEXT NOT NULL, age INTEGER NOT NULL, grade TEXT NOT NULL, email TEXT NOT NULL)");
+            s.execute("CREATE UNIQUE INDEX idx_students_email ON students(email)");
+        }
+        ChangeFeed.install(conn);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException { conn.close(); }
+
+    private void execute(String sql) throws SQLException { try (Statement s = conn.createStatement()) { s.execute(sql); } }
+
+    private long version(int id) throws SQLException {
+        try (Statement s = conn.createStatement(); ResultSet rs = s.executeQuery("SELECT version FROM students WHERE id = " + id)) { return rs.next() ? rs.getLong(1) : -1; }
+    }
+
+    private List<String> delta(String consumer) throws Exception {
+        Path file = dir.resolve(consumer + ".csv");
+        ChangeFeed.exportDelta(conn, file, StudentExporter.Format.CSV, false, consumer);
+        List<String> lines = Files.readAllLines(file);
+        return lines.subList(1, lines.size());
+    }
+
+    @Test
+    void triggersVersionPlainWrites() throws Exception {
+        execute("INSERT INTO students (id,name,age,grade,email) VALUES (1,'Ann',20,'A','ann@x.org')");
+        execute("INSERT INTO students (id,name,age,grade,email) VALUES (2,'Bob',21,'B','bob@x.org')");
+        assertEquals(1, version(1));
+        assertEquals(2, version(2));
+        execute("UPDATE students SET age = 22 WHERE id = 1");
+        assertEquals(3, version(1));
+        execute("UPDATE students SET age = 22 WHERE id = 1"); // no real change
+        assertEquals(3, version(1));
+        execute("DELETE FROM students WHERE id = 2");
+        assertEquals(4, ChangeFeed.currentVersion(conn));
+    }
+
+    @Test
+    void reservedVersionsAreKeptAndExported() throws Exception {
+        execute("INSERT INTO students (id,name,age,grade,email) VALUES (1,'Ann',20,'A','ann@x.org')");
+        assertEquals(List.of(1), delta("sync").stream().map(l -> Integer.parseInt(l.split(",")[1])).toList());
+
+        conn.setAutoCommit(false);
+        long first = ChangeFeed.reserve(conn, 2);
+        assertEquals(2, first);
+        try (PreparedStatement p = conn.prepareStatement("INSERT INTO students (id,name,age,grade,email,version) VALUES (?,?,20,'A',?,?)")) {
+            for (int i = 0; i < 2; i++) { p.setInt(1, 10 + i); p.setString(2, "S" + i); p.setString(3, "s" + i + "@x.org"); p.setLong(4, first + i); p.addBatch(); }
+            p.executeBatch();
+        }
+        conn.commit();
+        conn.setAutoCommit(true);
+        assertEquals(2, version(10));
+        assertEquals(3, version(11));
+        assertEquals(3, ChangeFeed.currentVersion(conn));
+        // A later plain write still gets a fresh version above the reserved block
+        execute("UPDATE students SET age = 30 WHERE id = 10");
+        assertEquals(4, version(10));
+
+        List<String> changes = delta("sync");
+        assertEquals(2, changes.size());
+        assertTrue(changes.get(0).startsWith("upsert,11,"));
+        assertTrue(changes.get(1).startsWith("upsert,10,"));
+    }
+
+    @Test
+    void reinsertWithReservedVersionClearsTombstone() throws Exception {
+        execute("INSERT INTO students (id,name,age,grade,email) VALUES (1,'Ann',20,'A','ann@x.org')");
+        execute("DELETE FROM students WHERE id = 1");
+        long v = ChangeFeed.reserve(conn, 1);
+        execute("INSERT INTO students (id,name,age,grade,email,version) VALUES (1,'Ann',20,'A','ann@x.org'," + v + ")");
+        try (Statement s = conn.createStatement(); ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM student_tombstones")) { rs.next(); assertEquals(0, rs.getInt(1)); }
+        assertEquals(1, delta("sync").size());
+    }
+}
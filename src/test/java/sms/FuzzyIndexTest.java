@@ -0,0 +1,84 @@
+package sms;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class FuzzyIndexTest {
+    private static List<Integer> ids(List<FuzzyIndex.Match> matches) { return matches.stream().map(FuzzyIndex.Match::id).toList(); }
+
+    @Test
+    void ranksCloserNamesFirstAndToleratesTypos() {
+        FuzzyIndex index = new FuzzyIndex();
+        index.put(1, "Ann Lee", "ann.lee@school.org");
+        index.put(2, "Anne Leigh", "aleigh@school.org");
+        index.put(3, "Bob Stone", "bob.stone@school.org");
+        index.put(4, "John Smith", "jsmith@school.org");
+
+        List<FuzzyIndex.Match> matches = index.search("Ann Lee", 10);
+        assertEquals(List.of(1, 2), ids(matches));
+        assertEquals(1.0, matches.get(0).score());
+        assertTrue(matches.get(1).score() < 1.0);
+
+        assertEquals(4, index.search("jonh smith", 10).get(0).id());
+        // Emails match on their local part
+        assertEquals(3, index.search("bob.stone@elsewhere.net", 10).get(0).id());
+        assertTrue(index.search("zzzz", 10).isEmpty());
+        assertTrue(index.search("  !! ", 10).isEmpty());
+    }
+
+    @Test
+    void breaksTiesByLowerId() {
+        FuzzyIndex index = new FuzzyIndex();
+        for (int id : new int[] { 7, 3, 5 }) index.put(id, "Maria Garcia", "m" + id + "@x.org");
+        List<FuzzyIndex.Match> matches = index.search("maria garcia", 10);
+        assertEquals(List.of(3, 5, 7), ids(matches));
+        assertEquals(matches.get(0).score(), matches.get(2).score());
+    }
+
+    @Test
+    void returnsAtMostLimitBestMatches() {
+        FuzzyIndex index = new FuzzyIndex();
+        for (int id = 20; id >= 1; id--) index.put(id, "Sam Taylor", "s" + id + "@x.org");
+        index.put(100, "Sam Tayler", "other@x.org");
+        assertEquals(List.of(1, 2, 3, 4, 5), ids(index.search("sam taylor", 5)));
+        // The weaker match only appears once the exact ones are exhausted
+        assertEquals(100, index.search("sam taylor", 21).get(20).id());
+        assertThrows(IllegalArgumentException.class, () -> index.search("sam", 0));
+    }
+
+    @Test
+    void removeAndReindexReplaceTheEntry() {
+        FuzzyIndex index = new FuzzyIndex();
+        index.put(1, "Olivia Brown", "olivia@x.org");
+        index.put(2, "Liam Jones", "liam@x.org");
+        index.remove(2);
+        index.remove(99); // unknown ids are ignored
+        assertEquals(1, index.size());
+        assertTrue(index.search("liam jones", 10).isEmpty());
+
+        // Re-indexing keeps one entry per id and forgets the old text
+        index.put(1, "Olivia Green", "ogreen@x.org");
+        assertEquals(1, index.size());
+        assertEquals(List.of(1), ids(index.search("olivia green", 10)));
+        assertEquals(1.0, index.search("olivia green", 10).get(0).score());
+        assertTrue(index.search("olivia brown", 10).get(0).score() < 1.0);
+        assertTrue(index.search("olivia", 10).stream().noneMatch(m -> m.id() == 2));
+    }
+
+    @Test
+    void staysCorrectAcrossCompaction() {
+        FuzzyIndex index = new FuzzyIndex();
+        for (int id = 1; id <= 3000; id++) index.put(id, "Student " + id, "student" + id + "@x.org");
+        // Retiring more than a quarter of the slots triggers compaction
+        for (int id = 1; id <= 2000; id++) index.remove(id);
+        for (int id = 2001; id <= 2100; id++) index.put(id, "Renamed " + id, "renamed" + id + "@x.org");
+        assertEquals(1000, index.size());
+        assertEquals(2500, index.search("Student 2500", 1).get(0).id());
+        assertEquals(2050, index.search("Renamed 2050", 1).get(0).id());
+        assertTrue(index.search("Student 1500", 10).stream().allMatch(m -> m.id() > 2000));
+        index.put(1, "Student 1", "student1@x.org");
+        assertEquals(1, index.search("student1@x.org", 1).get(0).id());
+    }
+}
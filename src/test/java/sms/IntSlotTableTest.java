@@ -0,0 +1,38 @@
+package sms;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class IntSlotTableTest {
+    @Test
+    void growsPastItsInitialSize() {
+        IntSlotTable table = new IntSlotTable(4);
+        assertEquals(8, table.buckets());
+        for (int i = 0; i < 1000; i++) table.put(i * 31 - 500, i);
+        assertEquals(1000, table.size());
+        assertTrue(table.buckets() >= 2000);
+        for (int i = 0; i < 1000; i++) assertEquals(i, table.get(i * 31 - 500));
+        assertEquals(IntSlotTable.NONE, table.get(7));
+    }
+
+    @Test
+    void matchesAHashMapUnderRandomOperations() {
+        IntSlotTable table = new IntSlotTable(16);
+        Map<Integer, Integer> model = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(11);
+        for (int i = 0; i < 100_000; i++) {
+            // Negative and zero keys are ordinary keys
+            int key = random.nextInt(200) - 100;
+            switch (random.nextInt(3)) {
+                case 0 -> { table.put(key, i); model.put(key, i); }
+                case 1 -> { assertEquals((int) model.getOrDefault(key, IntSlotTable.NONE), table.remove(key)); model.remove(key); }
+                default -> assertEquals((int) model.getOrDefault(key, IntSlotTable.NONE), table.get(key), "get(" + key + ") after " + i + " operations");
+            }
+            assertEquals(model.size(), table.size());
+        }
+    }
+}
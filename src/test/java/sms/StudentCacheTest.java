@@ -0,0 +1,102 @@
+package sms;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class StudentCacheTest {
+    // Capacity 8 gives a 16-bucket table
+    private static final int CAPACITY = 8, MASK = 15;
+
+    private static Student student(int id) { return new Student(id, "Student " + id, 20, "A", id + "@x.org"); }
+
+    // The first count positive ids whose home bucket is the given one
+    private static List<Integer> idsInBucket(int bucket, int count) {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 1; ids.size() < count; id++) if ((IntSlotTable.hash(id) & MASK) == bucket) ids.add(id);
+        return ids;
+    }
+
+    @Test
+    void deleteKeepsProbeChainsThatWrapAround() {
+        StudentCache cache = new StudentCache(CAPACITY);
+        List<Integer> last = idsInBucket(MASK, 3), first = idsInBucket(0, 2);
+        // Buckets 15, 0, 1 hold the bucket-15 ids; the bucket-0 ids are pushed to 2 and 3
+        for (int id : last) cache.put(student(id));
+        for (int id : first) cache.put(student(id));
+        cache.remove(last.get(0));
+        assertNull(cache.get(last.get(0)));
+        for (int id : last.subList(1, 3)) assertEquals(id, cache.get(id).getId());
+        for (int id : first) assertEquals(id, cache.get(id).getId());
+        cache.remove(first.get(0));
+        assertEquals(last.get(2), cache.get(last.get(2)).getId());
+        assertEquals(first.get(1), cache.get(first.get(1)).getId());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        StudentCache cache = new StudentCache(3);
+        cache.put(student(1)); cache.put(student(2)); cache.put(student(3));
+        cache.get(1);                // 2 is now the least recently used
+        cache.put(student(4));
+        assertNull(cache.get(2));
+        cache.put(student(3));       // replacing an entry also refreshes it
+        cache.put(student(5));       // evicts 1
+        assertNull(cache.get(1));
+        assertNotNull(cache.get(3)); assertNotNull(cache.get(4)); assertNotNull(cache.get(5));
+        assertEquals(2, cache.evictions());
+        assertEquals(3, cache.size());
+    }
+
+    @Test
+    void matchesAnAccessOrderedMapUnderRandomOperations() {
+        StudentCache cache = new StudentCache(CAPACITY);
+        Map<Integer, Student> model = new LinkedHashMap<>(16, 0.75f, true);
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 100_000; i++) {
+            int id = 1 + random.nextInt(40);
+            switch (random.nextInt(3)) {
+                case 0 -> {
+                    Student s = student(id);
+                    cache.put(s);
+                    model.put(id, s);
+                    if (model.size() > CAPACITY) model.remove(model.keySet().iterator().next());
+                }
+                case 1 -> { cache.remove(id); model.remove(id); }
+                default -> assertSame(model.get(id), cache.get(id), "get(" + id + ") after " + i + " operations");
+            }
+            assertEquals(model.size(), cache.size());
+        }
+    }
+
+    @Test
+    void putIfUnchangedSkipsReadsThatRacedAWrite() {
+        StudentCache cache = new StudentCache(CAPACITY);
+        long stamp = cache.writeStamp();
+        cache.putIfUnchanged(student(1), stamp);
+        assertNotNull(cache.get(1));
+
+        // A reader takes the stamp, then a writer updates id 2 before the read is cached
+        stamp = cache.writeStamp();
+        Student fresh = new Student(2, "New", 21, "B", "new@x.org");
+        cache.put(fresh);
+        cache.putIfUnchanged(student(2), stamp);
+        assertSame(fresh, cache.get(2));
+
+        stamp = cache.writeStamp();
+        cache.remove(3);
+        cache.putIfUnchanged(student(3), stamp);
+        assertNull(cache.get(3));
+
+        stamp = cache.writeStamp();
+        cache.clear();
+        cache.putIfUnchanged(student(4), stamp);
+        assertEquals(0, cache.size());
+    }
+}
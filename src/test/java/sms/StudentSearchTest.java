@@ -0,0 +1,91 @@
+package sms;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.*;
+
+class StudentSearchTest {
+    private static final String[] NAMES = { "alice", "Bob", "ALAN", "carol", "Abe", "bea", "Al" };
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = DriverManager.getConnection("jdbc:sqlite::memory:");
+        try (Statement s = conn.createStatement()) {
+            s.execute("CREATE TABLE students (id INTEGER PRIMARY KEY, name TEXT NOT NULL, age INTEGER NOT NULL, grade TEXT NOT NULL, email TEXT NOT NULL, version INTEGER NOT NULL DEFAULT 0)");
+            s.execute("CREATE INDEX idx_students_name ON students(name COLLATE NOCASE)");
+            s.execute("CREATE INDEX idx_students_grade ON students(grade, id)");
+            s.execute("CREATE INDEX idx_students_age ON students(age)");
+            s.execute("CREATE UNIQUE INDEX idx_students_email ON students(email)");
+        }
+        try (var p = conn.prepareStatement("INSERT INTO students (id,name,age,grade,email) VALUES (?,?,?,?,?)")) {
+            // Ids interleave the sort keys so id order and index order differ
+            for (int id = 1; id <= 500; id++) {
+                p.setInt(1, id); p.setString(2, NAMES[id % NAMES.length] + (id % 3)); p.setInt(3, 18 + (id * 7) % 13);
+                p.setString(4, "A"); p.setString(5, id + "@x.org");
+                p.addBatch();
+            }
+            p.executeBatch();
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException { conn.close(); }
+
+    private List<Integer> ids(String sql) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        try (Statement s = conn.createStatement(); ResultSet rs = s.executeQuery(sql)) { while (rs.next()) ids.add(rs.getInt(1)); }
+        return ids;
+    }
+
+    private static List<Integer> walk(StudentPager pager) throws SQLException {
+        List<Integer> ids = new ArrayList<>();
+        if (!pager.first()) return ids;
+        do { for (int i = 0; i < pager.getRowCount(); i++) ids.add(pager.get(i).getId()); } while (pager.next());
+        return ids;
+    }
+
+    @Test
+    void sortedSearchesUseTheirIndexWithoutSorting() throws SQLException {
+        String name = String.join("\n", StudentSearch.NAME_PREFIX.explain(conn, "a"));
+        assertTrue(name.contains("idx_students_name"), name);
+        assertFalse(name.contains("TEMP B-TREE"), name);
+        String age = String.join("\n", StudentSearch.AGE_RANGE.explain(conn, 20, 25));
+        assertTrue(age.contains("idx_students_age"), age);
+        assertFalse(age.contains("TEMP B-TREE"), age);
+    }
+
+    @Test
+    void ageRangePagesInAgeThenIdOrder() throws SQLException {
+        try (StudentPager pager = StudentSearch.AGE_RANGE.open(conn, 7, 20, 25)) {
+            assertEquals(ids("SELECT id FROM students WHERE age BETWEEN 20 AND 25 ORDER BY age, id"), walk(pager));
+        }
+    }
+
+    @Test
+    void namePrefixPagesCaseInsensitively() throws SQLException {
+        try (StudentPager pager = StudentSearch.NAME_PREFIX.open(conn, 9, "a")) {
+            List<Integer> expected = ids("SELECT id FROM students WHERE name LIKE 'a%' ORDER BY name COLLATE NOCASE, id");
+            assertEquals(expected, walk(pager));
+
+            // Back one page from the end, then resume after a row by id as the API does
+            pager.first(); pager.next(); pager.next();
+            int third = pager.get(0).getId();
+            assertTrue(pager.previous());
+            assertEquals(expected.get(9), pager.get(0).getId());
+            assertTrue(pager.from(expected.get(17)));
+            assertEquals(third, pager.get(0).getId());
+        }
+    }
+
+    @Test
+    void resumingAfterADeletedStudentIsRejected() throws SQLException {
+        try (StudentPager pager = StudentSearch.AGE_RANGE.open(conn, 5, 18, 30); Statement s = conn.createStatement()) {
+            s.execute("DELETE FROM students WHERE id = 42");
+            assertThrows(IllegalArgumentException.class, () -> pager.from(42));
+        }
+    }
+}
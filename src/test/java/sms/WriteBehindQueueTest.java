@@ -0,0 +1,143 @@
+package sms;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.sql.*;
+import java.util.Map;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+class WriteBehindQueueTest {
+    @TempDir Path dir;
+    private ConnectionFactory factory;
+    private Connection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        factory = new ConnectionFactory("jdbc:sqlite:" + dir.resolve("students.db"), Map.of("busy_timeout", "200"));
+        conn = factory.open();
+        try (Statement s = conn.createStatement()) {
+            s.execute("CREATE TABLE students (id INTEGER PRIMARY KEY, name TEXT NOT NULL, age INTEGER NOT NULL, grade TEXT NOT NULL, email TEXT NOT NULL)");
+            s.execute("CREATE UNIQUE INDEX idx_students_email ON students(email)");
+        }
+        ChangeFeed.install(conn);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException { conn.close(); }
+
+    private WriteBehindQueue queue(Path journal) throws Exception {
+        return new WriteBehindQueue(factory, new StudentCache(16), journal, 1000, 60_000);
+    }
+
+    private static Student student(int id, String email) { return new Student(id, "Student " + id, 20, "A", email); }
+
+    private int count() throws SQLException {
+        try (Statement s = conn.createStatement(); ResultSet rs = s.executeQuery("SELECT COUNT(*) FROM students")) { rs.next(); return rs.getInt(1); }
+    }
+
+    @Test
+    void replayAppliesJournalLeftByCrash() throws Exception {
+        try (Statement s = conn.createStatement()) { s.execute("INSERT INTO students (id,name,age,grade,email) VALUES (3,'Old',30,'B','old@x.org')"); }
+        Path journal = dir.resolve("students.journal"), crashed = dir.resolve("crashed.journal");
+        try (WriteBehindQueue q = queue(journal)) {
+            q.put(student(1, "a@x.org"));
+            q.put(new Student(2, "Tab\there", 21, "B", "b@x.org"));
+            q.put(student(1, "a2@x.org"));
+            q.delete(3);
+            // The journal as a crash would leave it, plus a torn line that was never acknowledged
+            Files.copy(journal, crashed);
+            Files.writeString(crashed, "P\t9\tTorn", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        }
+        try (Statement s = conn.createStatement()) { s.execute("DELETE FROM students"); s.execute("INSERT INTO students (id,name,age,grade,email) VALUES (3,'Old',30,'B','old@x.org')"); }
+
+        assertEquals(4, WriteBehindQueue.replay(conn, crashed));
+        assertEquals(0, Files.size(crashed));
+        try (Statement s = conn.createStatement(); ResultSet rs = s.executeQuery("SELECT id,name,email FROM students ORDER BY id")) {
+            assertTrue(rs.next()); assertEquals(1, rs.getInt(1)); assertEquals("a2@x.org", rs.getString(3));
+            assertTrue(rs.next()); assertEquals(2, rs.getInt(1)); assertEquals("Tab\there", rs.getString(2));
+            assertFalse(rs.next());
+        }
+        // Replaying again is a no-op
+        assertEquals(0, WriteBehindQueue.replay(conn, crashed));
+    }
+
+    @Test
+    void flushKeepsWritesWhenDatabaseIsBusy() throws Exception {
+        Path journal = dir.resolve("students.journal");
+        try (WriteBehindQueue q = queue(journal); Connection other = factory.open()) {
+            for (int i = 1; i <= 5; i++) q.put(student(i, i + "@x.org"));
+            long journaled = Files.size(journal);
+            other.setAutoCommit(false);
+            try (Statement s = other.createStatement()) { s.execute("INSERT INTO students (id,name,age,grade,email) VALUES (99,'Lock',20,'A','lock@x.org')"); }
+
+            assertThrows(SQLException.class, q::flush);
+            assertTrue(q.hasPending());
+            assertEquals(journaled, Files.size(journal));
+            assertTrue(q.takeRejected().isEmpty());
+
+            other.rollback();
+            q.flush();
+            assertFalse(q.hasPending());
+            assertEquals(0, Files.size(journal));
+            assertEquals(5, count());
+        }
+    }
+
+    @Test
+    void flushDropsOnlyRowsThatViolateConstraints() throws Exception {
+        Path journal = dir.resolve("students.journal");
+        try (WriteBehindQueue q = queue(journal)) {
+            q.put(student(1, "a@x.org"));
+            q.put(student(2, "a@x.org"));
+            q.put(student(3, "c@x.org"));
+            q.flush();
+            assertEquals(2, count());
+            assertNull(q.pending(2));
+            var rejected = q.takeRejected();
+            assertEquals(1, rejected.size());
+            assertTrue(rejected.get(0).startsWith("student 2"));
+            assertEquals(0, Files.size(journal));
+        }
+    }
+
+    @Test
+    void journalCannotBeSharedByTwoQueues() throws Exception {
+        Path journal = dir.resolve("students.journal");
+        try (WriteBehindQueue q = queue(journal)) {
+            // Within one JVM the second lock attempt fails outright; across processes tryLock returns null
+            assertThrows(Exception.class, () -> queue(journal).close());
+            q.put(student(1, "a@x.org"));
+            assertNotNull(q.pending(1));
+        }
+        assertEquals(1, count());
+    }
+
+    @Test
+    void concurrentWritersAreAllJournaled() throws Exception {
+        Path journal = dir.resolve("students.journal"), crashed = dir.resolve("crashed.journal");
+        int threads = 8, each = 50;
+        try (WriteBehindQueue q = queue(journal)) {
+            Thread[] writers = new Thread[threads];
+            Throwable[] errors = new Throwable[threads];
+            for (int t = 0; t < threads; t++) {
+                int base = t * each;
+                int slot = t;
+                writers[t] = new Thread(() -> {
+                    try { for (int i = 1; i <= each; i++) q.put(student(base + i, (base + i) + "@x.org")); }
+                    catch (Throwable e) { errors[slot] = e; }
+                });
+                writers[t].start();
+            }
+            for (Thread w : writers) w.join();
+            for (Throwable e : errors) assertNull(e);
+            // Every acknowledged write has to be in the journal a crash would leave behind
+            Files.copy(journal, crashed);
+        }
+        try (Statement s = conn.createStatement()) { s.execute("DELETE FROM students"); }
+        assertEquals(threads * each, WriteBehindQueue.replay(conn, crashed));
+        assertEquals(threads * each, count());
+    }
+}